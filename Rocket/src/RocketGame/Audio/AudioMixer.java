@@ -0,0 +1,253 @@
+package RocketGame.Audio;
+
+import RocketGame.Util.Constants;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Software mixer for sound effects. One daemon thread owns a single
+ * SourceDataLine and mixes a fixed set of voices into it, a short period at a
+ * time; the line's buffer is the ring the device plays from, so latency is
+ * about LINE_PERIODS periods. Game code never touches the line: play() only
+ * queues a command, and the mixer picks it up before the next period.
+ *
+ * A sample already playing as many times as its polyphony allows gives up
+ * its own oldest voice; otherwise a free voice is used, and when every voice
+ * is busy the oldest one overall is stolen.
+ */
+public class AudioMixer {
+    public static final float SAMPLE_RATE = 22050f;
+    public static final int MAX_VOICES = 16;
+
+    private static final int PERIOD_FRAMES = 256;
+    private static final int LINE_PERIODS = 4;
+    private static final int FADE_FRAMES = 64;
+
+    private static AudioMixer instance;
+
+    private final Queue<Command> commands = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Sample> tones = new ConcurrentHashMap<>();
+    private final Voice[] voices = new Voice[MAX_VOICES];
+    private final float[] mixBuffer = new float[PERIOD_FRAMES * 2];
+    private final byte[] lineBuffer = new byte[PERIOD_FRAMES * 4];
+
+    private boolean started = false;
+    private volatile boolean running = false;
+    private volatile float masterGain = 1.0f;
+    private long voiceSequence = 0;
+
+    private static class Voice {
+        Sample sample;
+        float[] samples;
+        int position;
+        float gainLeft;
+        float gainRight;
+        long started;
+    }
+
+    private static class Command {
+        final Sample sample;
+        final float gainLeft;
+        final float gainRight;
+
+        Command(Sample sample, float gainLeft, float gainRight) {
+            this.sample = sample;
+            this.gainLeft = gainLeft;
+            this.gainRight = gainRight;
+        }
+    }
+
+    public static synchronized AudioMixer getInstance() {
+        if (instance == null) {
+            instance = new AudioMixer();
+        }
+        return instance;
+    }
+
+    private AudioMixer() {
+        for (int i = 0; i < voices.length; i++) {
+            voices[i] = new Voice();
+        }
+    }
+
+    // Opens the line and starts the mixer thread; later calls do nothing.
+    public synchronized boolean start() {
+        if (started) return running;
+        started = true;
+
+        AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 2, true, false);
+        SourceDataLine line;
+        try {
+            line = AudioSystem.getSourceDataLine(format);
+            line.open(format, lineBuffer.length * LINE_PERIODS);
+            line.start();
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.out.println("Audio mixer unavailable: " + e.getMessage());
+            return false;
+        }
+
+        running = true;
+        Thread thread = new Thread(() -> mixLoop(line), "audio-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+        return true;
+    }
+
+    public void shutdown() {
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setMasterGain(float gain) {
+        masterGain = Math.max(0.0f, Math.min(1.0f, gain));
+    }
+
+    /**
+     * Queues a sample for playback. Safe to call from any thread.
+     * @param pan -1 (left) to 1 (right)
+     */
+    public void play(Sample sample, float gain, float pan) {
+        if (!running || sample == null || sample.getData().length == 0) return;
+
+        // Equal-power pan keeps loudness steady across the screen.
+        double angle = (Math.max(-1.0f, Math.min(1.0f, pan)) + 1.0) * Math.PI / 4.0;
+        commands.add(new Command(sample, (float) (gain * Math.cos(angle)), (float) (gain * Math.sin(angle))));
+    }
+
+    public void playTone(float frequency, int durationMillis, float gain, float pan) {
+        play(getTone(frequency, durationMillis), gain, pan);
+    }
+
+    // Maps a screen x coordinate to a pan position.
+    public static float panForX(float x) {
+        return Math.max(-1.0f, Math.min(1.0f, x / Constants.WINDOW_WIDTH * 2.0f - 1.0f));
+    }
+
+    // Sine tones are synthesized once per frequency and length, then reused.
+    public Sample getTone(float frequency, int durationMillis) {
+        long key = ((long) Float.floatToIntBits(frequency) << 32) | durationMillis;
+        Sample tone = tones.get(key);
+        if (tone == null) {
+            tone = new Sample(synthesizeTone(frequency, durationMillis), MAX_VOICES);
+            tones.put(key, tone);
+        }
+        return tone;
+    }
+
+    private static float[] synthesizeTone(float frequency, int durationMillis) {
+        int frames = (int) (SAMPLE_RATE * durationMillis / 1000);
+        float[] tone = new float[frames];
+        double step = 2.0 * Math.PI * frequency / SAMPLE_RATE;
+        int fade = Math.min(FADE_FRAMES, frames / 2);
+
+        for (int i = 0; i < frames; i++) {
+            float envelope = 1.0f;
+            if (i < fade) {
+                envelope = (float) i / fade;
+            } else if (i >= frames - fade) {
+                envelope = (float) (frames - 1 - i) / fade;
+            }
+            tone[i] = (float) Math.sin(step * i) * envelope;
+        }
+        return tone;
+    }
+
+    private void mixLoop(SourceDataLine line) {
+        try {
+            while (running) {
+                Command command;
+                while ((command = commands.poll()) != null) {
+                    startVoice(command);
+                }
+                mixPeriod();
+                line.write(lineBuffer, 0, lineBuffer.length);
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            running = false;
+        } finally {
+            commands.clear();
+            line.stop();
+            line.close();
+        }
+    }
+
+    private void startVoice(Command command) {
+        Voice free = null;
+        Voice oldest = null;
+        Voice oldestOfSample = null;
+        int playing = 0;
+
+        for (Voice voice : voices) {
+            if (voice.sample == null) {
+                if (free == null) free = voice;
+                continue;
+            }
+            if (oldest == null || voice.started < oldest.started) {
+                oldest = voice;
+            }
+            if (voice.sample == command.sample) {
+                playing++;
+                if (oldestOfSample == null || voice.started < oldestOfSample.started) {
+                    oldestOfSample = voice;
+                }
+            }
+        }
+
+        Voice target;
+        if (playing >= command.sample.getPolyphony()) {
+            target = oldestOfSample;
+        } else {
+            target = free != null ? free : oldest;
+        }
+
+        target.sample = command.sample;
+        target.samples = command.sample.getData();
+        target.position = 0;
+        target.gainLeft = command.gainLeft;
+        target.gainRight = command.gainRight;
+        target.started = voiceSequence++;
+    }
+
+    private void mixPeriod() {
+        Arrays.fill(mixBuffer, 0.0f);
+
+        for (Voice voice : voices) {
+            float[] samples = voice.samples;
+            if (samples == null) continue;
+
+            int frames = Math.min(PERIOD_FRAMES, samples.length - voice.position);
+            int p = voice.position;
+            for (int i = 0, o = 0; i < frames; i++, o += 2) {
+                float s = samples[p + i];
+                mixBuffer[o] += s * voice.gainLeft;
+                mixBuffer[o + 1] += s * voice.gainRight;
+            }
+            voice.position += frames;
+            if (voice.position >= samples.length) {
+                voice.sample = null;
+                voice.samples = null;
+            }
+        }
+
+        float gain = masterGain * Short.MAX_VALUE;
+        for (int i = 0, o = 0; i < mixBuffer.length; i++, o += 2) {
+            float s = mixBuffer[i] * gain;
+            int sample = s > Short.MAX_VALUE ? Short.MAX_VALUE : s < Short.MIN_VALUE ? Short.MIN_VALUE : (int) s;
+            lineBuffer[o] = (byte) sample;
+            lineBuffer[o + 1] = (byte) (sample >> 8);
+        }
+    }
+}
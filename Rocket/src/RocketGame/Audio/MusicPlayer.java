@@ -0,0 +1,270 @@
+package RocketGame.Audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Streams background music from disk on its own thread instead of holding
+ * whole tracks in Clips. The thread reads one chunk at a time from the
+ * current track and writes it to a line that buffers two chunks, so while
+ * the device plays one chunk the next is being read. Tracks loop by
+ * reopening the file when it runs out, within the same chunk, so there is no gap.
+ *
+ * Switching tracks cross-fades: the old track keeps streaming while its gain
+ * ramps down and the new one ramps up. Every public method just queues a
+ * command for the music thread.
+ */
+public class MusicPlayer {
+    private static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+    private static final int CHUNK_FRAMES = 4096;
+    private static final int CHUNK_BYTES = CHUNK_FRAMES * 4;
+    private static final int CROSSFADE_MILLIS = 1500;
+    private static final int STOP_FADE_MILLIS = 250;
+
+    private final BlockingQueue<Runnable> commands = new LinkedBlockingQueue<>();
+    private final float[] mixBuffer = new float[CHUNK_FRAMES * 2];
+    private final byte[] readBuffer = new byte[CHUNK_BYTES];
+    private final byte[] lineBuffer = new byte[CHUNK_BYTES];
+
+    private boolean started = false;
+    private volatile boolean running = false;
+    private SourceDataLine line;
+
+    // Owned by the music thread
+    private Track current;
+    private Track fading;
+    private boolean paused = false;
+    private float volume = 1.0f;
+
+    private static class Track {
+        final File file;
+        AudioInputStream stream;
+        float gain;
+        float target;
+        float step;
+
+        Track(File file) {
+            this.file = file;
+        }
+    }
+
+    // Opens the line and starts the music thread; later calls do nothing.
+    public synchronized boolean start() {
+        if (started) return running;
+        started = true;
+
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, CHUNK_BYTES * 2);
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.out.println("Music line unavailable: " + e.getMessage());
+            return false;
+        }
+
+        running = true;
+        Thread thread = new Thread(this::streamLoop, "music-stream");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    // Cross-fades from whatever is playing to the given file, looping it.
+    public void play(File file) {
+        if (!start()) return;
+        commands.add(() -> {
+            if (current != null && current.file.equals(file)) {
+                fadeTo(current, 1.0f, CROSSFADE_MILLIS);
+                return;
+            }
+            if (fading != null) {
+                close(fading);
+            }
+            fading = current;
+            if (fading != null) {
+                fadeTo(fading, 0.0f, CROSSFADE_MILLIS);
+            }
+
+            current = new Track(file);
+            current.gain = fading != null ? 0.0f : 1.0f;
+            fadeTo(current, 1.0f, CROSSFADE_MILLIS);
+            paused = false;
+        });
+    }
+
+    public void stop() {
+        if (!running) return;
+        commands.add(() -> {
+            if (fading != null) {
+                close(fading);
+            }
+            fading = current;
+            current = null;
+            if (fading != null) {
+                fadeTo(fading, 0.0f, STOP_FADE_MILLIS);
+            }
+        });
+    }
+
+    public void pause() {
+        if (!running) return;
+        commands.add(() -> paused = true);
+    }
+
+    public void resume() {
+        if (!running) return;
+        commands.add(() -> paused = false);
+    }
+
+    public void setVolume(float volume) {
+        float clamped = Math.max(0.0f, Math.min(1.0f, volume));
+        if (!running) return;
+        commands.add(() -> this.volume = clamped);
+    }
+
+    public void shutdown() {
+        if (!running) return;
+        commands.add(() -> running = false);
+    }
+
+    private void streamLoop() {
+        try {
+            while (running) {
+                Runnable command;
+                while ((command = commands.poll()) != null) {
+                    command.run();
+                }
+
+                if (paused || (current == null && fading == null)) {
+                    // Nothing to play: let the line keep what it has and sleep until told otherwise.
+                    line.stop();
+                    commands.take().run();
+                    continue;
+                }
+
+                line.start();
+                mixChunk();
+                line.write(lineBuffer, 0, lineBuffer.length);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        } finally {
+            running = false;
+            close(current);
+            close(fading);
+            line.stop();
+            line.close();
+        }
+    }
+
+    private void mixChunk() {
+        Arrays.fill(mixBuffer, 0.0f);
+
+        if (current != null && !mixTrack(current)) {
+            close(current);
+            current = null;
+        }
+        if (fading != null && (!mixTrack(fading) || fading.gain <= 0.0f)) {
+            close(fading);
+            fading = null;
+        }
+
+        float gain = volume * Short.MAX_VALUE;
+        for (int i = 0, o = 0; i < mixBuffer.length; i++, o += 2) {
+            float s = mixBuffer[i] * gain;
+            int sample = s > Short.MAX_VALUE ? Short.MAX_VALUE : s < Short.MIN_VALUE ? Short.MIN_VALUE : (int) s;
+            lineBuffer[o] = (byte) sample;
+            lineBuffer[o + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    // Adds one chunk of the track to the mix. Returns false if the track cannot be read.
+    private boolean mixTrack(Track track) {
+        int filled = 0;
+        boolean readSinceOpen = true;
+
+        while (filled < CHUNK_BYTES) {
+            if (track.stream == null) {
+                track.stream = open(track.file);
+                if (track.stream == null) return false;
+                readSinceOpen = false;
+            }
+
+            int n;
+            try {
+                n = track.stream.read(readBuffer, filled, CHUNK_BYTES - filled);
+            } catch (IOException e) {
+                System.out.println("Error streaming music: " + e.getMessage());
+                return false;
+            }
+
+            if (n < 0) {
+                // End of file: loop from the start within this same chunk.
+                close(track);
+                if (!readSinceOpen) return false;
+                continue;
+            }
+            filled += n;
+            readSinceOpen |= n > 0;
+        }
+
+        for (int f = 0, b = 0; f < CHUNK_FRAMES; f++, b += 4) {
+            if (track.gain != track.target) {
+                track.gain += track.step;
+                if ((track.step > 0 && track.gain > track.target) || (track.step < 0 && track.gain < track.target)) {
+                    track.gain = track.target;
+                }
+            }
+            short left = (short) ((readBuffer[b] & 0xFF) | (readBuffer[b + 1] << 8));
+            short right = (short) ((readBuffer[b + 2] & 0xFF) | (readBuffer[b + 3] << 8));
+            mixBuffer[f * 2] += left * track.gain / (Short.MAX_VALUE + 1);
+            mixBuffer[f * 2 + 1] += right * track.gain / (Short.MAX_VALUE + 1);
+        }
+        return true;
+    }
+
+    private static void fadeTo(Track track, float target, int millis) {
+        track.target = target;
+        float frames = FORMAT.getSampleRate() * millis / 1000;
+        track.step = (target - track.gain) / Math.max(1.0f, frames);
+    }
+
+    private static AudioInputStream open(File file) {
+        try {
+            AudioInputStream source = AudioSystem.getAudioInputStream(file);
+            AudioFormat format = source.getFormat();
+            if (format.matches(FORMAT)) {
+                return source;
+            }
+            if (AudioSystem.isConversionSupported(FORMAT, format)) {
+                return AudioSystem.getAudioInputStream(FORMAT, source);
+            }
+            // Some conversions only exist from 16-bit PCM, so go through that first.
+            AudioFormat pcm = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+            return AudioSystem.getAudioInputStream(FORMAT, AudioSystem.getAudioInputStream(pcm, source));
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+            System.out.println("Could not stream music file: " + file + " (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    private static void close(Track track) {
+        if (track == null || track.stream == null) return;
+        try {
+            track.stream.close();
+        } catch (IOException e) {
+            // Nothing left to read from it anyway
+        }
+        track.stream = null;
+    }
+}
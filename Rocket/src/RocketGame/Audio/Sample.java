@@ -0,0 +1,96 @@
+package RocketGame.Audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A sound effect decoded once to mono float PCM at the mixer's sample rate.
+ * Polyphony caps how many copies the mixer plays at once; past that, the
+ * oldest copy of this sample is cut off for the new one.
+ */
+public class Sample {
+    private final float[] data;
+    private volatile int polyphony;
+
+    public Sample(float[] data, int polyphony) {
+        this.data = data;
+        this.polyphony = Math.max(1, polyphony);
+    }
+
+    public float[] getData() {
+        return data;
+    }
+
+    public int getPolyphony() {
+        return polyphony;
+    }
+
+    public void setPolyphony(int polyphony) {
+        this.polyphony = Math.max(1, polyphony);
+    }
+
+    public static Sample decode(byte[] file, int polyphony) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(new ByteArrayInputStream(file))) {
+            AudioFormat sourceFormat = source.getFormat();
+            AudioFormat pcm = new AudioFormat(sourceFormat.getSampleRate(), 16,
+                    sourceFormat.getChannels(), true, false);
+
+            try (AudioInputStream stream = AudioSystem.getAudioInputStream(pcm, source)) {
+                float[] mono = toMono(readAll(stream), pcm.getChannels());
+                return new Sample(resample(mono, pcm.getSampleRate(), AudioMixer.SAMPLE_RATE), polyphony);
+            }
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    // 16-bit little-endian frames, averaged across channels.
+    private static float[] toMono(byte[] bytes, int channels) {
+        int frames = bytes.length / (2 * channels);
+        float[] mono = new float[frames];
+        float scale = 1.0f / (Short.MAX_VALUE + 1) / channels;
+
+        for (int f = 0, b = 0; f < frames; f++) {
+            int sum = 0;
+            for (int c = 0; c < channels; c++, b += 2) {
+                sum += (short) ((bytes[b] & 0xFF) | (bytes[b + 1] << 8));
+            }
+            mono[f] = sum * scale;
+        }
+        return mono;
+    }
+
+    // Linear interpolation is enough for short effects.
+    private static float[] resample(float[] in, float fromRate, float toRate) {
+        if (fromRate == toRate || in.length < 2) return in;
+
+        int frames = (int) ((long) in.length * (long) toRate / (long) fromRate);
+        float[] out = new float[frames];
+        double step = (double) fromRate / toRate;
+        for (int i = 0; i < frames; i++) {
+            double pos = i * step;
+            int index = (int) pos;
+            if (index >= in.length - 1) {
+                out[i] = in[in.length - 1];
+            } else {
+                float t = (float) (pos - index);
+                out[i] = in[index] + (in[index + 1] - in[index]) * t;
+            }
+        }
+        return out;
+    }
+}
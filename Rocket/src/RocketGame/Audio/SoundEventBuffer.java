@@ -0,0 +1,145 @@
+package RocketGame.Audio;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects sound effect requests made during one game tick and plays them
+ * when the tick ends. Requests for the same effect within a tick become a
+ * single play, panned to their average x, with more gain for every extra
+ * request. Each effect also has a maximum trigger rate; a merged event that
+ * arrives sooner than that after the last play is dropped.
+ *
+ * Only the game thread uses this, so nothing here is synchronized. The
+ * counters keep running while muted, so the headless runner can report them.
+ */
+public class SoundEventBuffer {
+    // Each extra request merged into a play adds this much gain, up to MAX_BOOST.
+    private static final float BOOST_PER_EVENT = 0.25f;
+    private static final float MAX_BOOST = 2.0f;
+
+    public interface Player {
+        void play(String name, float frequency, int duration, float x, float gainScale);
+    }
+
+    private static class Effect {
+        final String name;
+        final float frequency;
+        final int duration;
+        long minIntervalMillis;
+        long lastPlayed = Long.MIN_VALUE / 2;
+
+        int pending;
+        float pendingX;
+
+        Effect(String name, float frequency, int duration) {
+            this.name = name;
+            this.frequency = frequency;
+            this.duration = duration;
+        }
+    }
+
+    private final List<Effect> effects = new ArrayList<>();
+    private final Player player;
+
+    private long requestedCount;
+    private long playedCount;
+    private long coalescedCount;
+    private long rateLimitedCount;
+    private int peakPerTick;
+
+    public SoundEventBuffer(Player player) {
+        this.player = player;
+    }
+
+    // Returns the id used with add().
+    public int register(String name, float frequency, int duration, float maxPerSecond) {
+        Effect effect = new Effect(name, frequency, duration);
+        effect.minIntervalMillis = intervalFor(maxPerSecond);
+        effects.add(effect);
+        return effects.size() - 1;
+    }
+
+    public void setMaxRate(String name, float maxPerSecond) {
+        for (Effect effect : effects) {
+            if (effect.name.equals(name)) {
+                effect.minIntervalMillis = intervalFor(maxPerSecond);
+            }
+        }
+    }
+
+    private static long intervalFor(float maxPerSecond) {
+        return maxPerSecond <= 0 ? 0 : (long) (1000.0f / maxPerSecond);
+    }
+
+    public void add(int id, float x) {
+        Effect effect = effects.get(id);
+        effect.pending++;
+        effect.pendingX += x;
+        requestedCount++;
+    }
+
+    /**
+     * Plays what was collected since the last flush. Call once at the end of each tick.
+     * @param now game time in milliseconds
+     * @param audible false while muted: events are still merged and counted, but not played
+     */
+    public void flush(long now, boolean audible) {
+        int played = 0;
+
+        for (int i = 0; i < effects.size(); i++) {
+            Effect effect = effects.get(i);
+            int count = effect.pending;
+            if (count == 0) continue;
+
+            float x = effect.pendingX / count;
+            effect.pending = 0;
+            effect.pendingX = 0;
+            coalescedCount += count - 1;
+
+            if (now - effect.lastPlayed < effect.minIntervalMillis) {
+                rateLimitedCount++;
+                continue;
+            }
+            effect.lastPlayed = now;
+            playedCount++;
+            played++;
+
+            if (audible) {
+                float boost = Math.min(MAX_BOOST, 1.0f + BOOST_PER_EVENT * (count - 1));
+                player.play(effect.name, effect.frequency, effect.duration, x, boost);
+            }
+        }
+
+        peakPerTick = Math.max(peakPerTick, played);
+    }
+
+    public long getRequestedCount() {
+        return requestedCount;
+    }
+
+    public long getPlayedCount() {
+        return playedCount;
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimitedCount;
+    }
+
+    // Most effects started in a single tick; bounded by the number of effects.
+    public int getPeakPerTick() {
+        return peakPerTick;
+    }
+
+    public void resetCounters() {
+        requestedCount = 0;
+        playedCount = 0;
+        coalescedCount = 0;
+        rateLimitedCount = 0;
+        peakPerTick = 0;
+    }
+}
@@ -1,51 +1,123 @@
 package RocketGame.Audio;
 
-import javax.sound.sampled.*;
+import RocketGame.Util.Constants;
+import RocketGame.Util.GameClock;
+
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SoundManager {
     private static SoundManager instance;
-    private final Map<String, Clip> soundClips;
+    private static boolean audioEnabled = true;
+    private final Map<String, File> musicFiles;
+    private final Map<String, Sample> soundEffects;
+    private final AudioMixer mixer = AudioMixer.getInstance();
     private boolean muted;
     private float volume;
-    private Clip currentBackgroundMusic;
+    private final MusicPlayer musicPlayer = new MusicPlayer();
+    private final SoundEventBuffer soundEvents = new SoundEventBuffer(this::playSoundOrTone);
+    private final int shootEvent;
+    private final int hitEvent;
+    private final int explosionEvent;
+    private final int powerupEvent;
+    private final int damageEvent;
+    private String currentBackgroundMusic;
 
     // Sound file directory
     private static final String SOUNDS_FOLDER = "Assets/Sounds/";
 
+    // Sounds without a position play centred
+    private static final float CENTER_X = Constants.WINDOW_WIDTH / 2.0f;
+
+    public static final String[] SOUND_FILES = {
+            "shoot.wav", "hit.wav", "explosion.wav", "powerup.wav", "damage.wav",
+            "background.wav", "menu.wav", "boss.wav"
+    };
+
+    // Voices each effect may use at once; anything not listed here is music and is streamed
+    private static final Map<String, Integer> EFFECT_POLYPHONY = new HashMap<>();
+
+    static {
+        EFFECT_POLYPHONY.put("shoot", 4);
+        EFFECT_POLYPHONY.put("hit", 4);
+        EFFECT_POLYPHONY.put("explosion", 3);
+        EFFECT_POLYPHONY.put("powerup", 2);
+        EFFECT_POLYPHONY.put("damage", 2);
+    }
+
+    // File contents read ahead of time by the asset preloader, keyed by file name
+    private static final Map<String, byte[]> preloadedFiles = new ConcurrentHashMap<>();
+
     private SoundManager() {
-        soundClips = new HashMap<>();
+        musicFiles = new HashMap<>();
+        soundEffects = new HashMap<>();
         muted = false;
         volume = 0.5f;
         currentBackgroundMusic = null;
 
+        // Fallback tone, length and the most times per second each effect may start
+        shootEvent = soundEvents.register("shoot", 800, 100, 15);
+        hitEvent = soundEvents.register("hit", 200, 200, 12);
+        explosionEvent = soundEvents.register("explosion", 100, 500, 6);
+        powerupEvent = soundEvents.register("powerup", 600, 300, 8);
+        damageEvent = soundEvents.register("damage", 150, 300, 6);
+
+        if (!audioEnabled) {
+            muted = true;
+            return;
+        }
+
 // Try to load sound files (optional)
         tryLoadSounds();
+
+        // Opening the mixer line here keeps it off the game thread
+        mixer.start();
     }
 
-    public static SoundManager getInstance() {
+    public static synchronized SoundManager getInstance() {
         if (instance == null) {
             instance = new SoundManager();
         }
         return instance;
     }
 
+    // Must be called before the first getInstance(); used by the headless runner
+    public static void setAudioEnabled(boolean enabled) {
+        audioEnabled = enabled;
+    }
+
+    public static boolean isAudioEnabled() {
+        return audioEnabled;
+    }
+
+    // Reads a sound file into memory so the constructor does not touch the disk. Safe to call from any thread.
+    public static void preloadSoundData(String filename) {
+        if (!audioEnabled) return;
+        // Music is streamed from disk when played, not held in memory.
+        if (!EFFECT_POLYPHONY.containsKey(filename.substring(0, filename.lastIndexOf('.')))) return;
+
+        File soundFile = new File(SOUNDS_FOLDER + filename);
+        if (!soundFile.exists()) return;
+
+        try {
+            preloadedFiles.put(filename, Files.readAllBytes(soundFile.toPath()));
+        } catch (IOException e) {
+            System.out.println("Could not read sound file: " + filename);
+        }
+    }
+
     // Try to load sound files (won't crash if files don't exist)
     private void tryLoadSounds() {
         try {
 // Try to load sound files if they exist
-            loadSoundIfExists("shoot", "shoot.wav");
-            loadSoundIfExists("hit", "hit.wav");
-            loadSoundIfExists("explosion", "explosion.wav");
-            loadSoundIfExists("powerup", "powerup.wav");
-            loadSoundIfExists("damage", "damage.wav");
-            loadSoundIfExists("background", "background.wav");
-            loadSoundIfExists("menu", "menu.wav");
-            loadSoundIfExists("boss", "boss.wav");
+            for (String filename : SOUND_FILES) {
+                loadSoundIfExists(filename.substring(0, filename.lastIndexOf('.')), filename);
+            }
         } catch (Exception e) {
 // Silently fail - we'll use tones instead
             System.out.println("Sound files not found,");
@@ -57,140 +129,164 @@ public class SoundManager {
         try {
             String filepath = SOUNDS_FOLDER + filename;
             File soundFile = new File(filepath);
+            byte[] data = preloadedFiles.remove(filename);
 
-            if (soundFile.exists()) {
-                AudioInputStream audioStream = AudioSystem.getAudioInputStream(soundFile);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioStream);
-                soundClips.put(name, clip);
+            if (data == null && !soundFile.exists()) return;
+
+            Integer polyphony = EFFECT_POLYPHONY.get(name);
+            if (polyphony != null) {
+                // Effects are decoded once and played by the mixer, so replays never touch a Clip.
+                if (data == null) {
+                    data = Files.readAllBytes(soundFile.toPath());
+                }
+                soundEffects.put(name, Sample.decode(data, polyphony));
                 System.out.println("Loaded sound file: " + filename);
+            } else {
+                musicFiles.put(name, soundFile);
+                System.out.println("Found music file: " + filename);
             }
         } catch (Exception e) {
 
         }
     }
 
-    private boolean hasSoundFile(String name) {
-        Clip clip = soundClips.get(name);
-        return clip != null;
+    private boolean hasMusicFile(String name) {
+        return musicFiles.containsKey(name);
     }
 
-    private void playSoundOrTone(String name, float frequency, int duration) {
+    private void playSoundOrTone(String name, float frequency, int duration, float x, float gainScale) {
         if (muted) return;
 
-        if (hasSoundFile(name)) {
-            Clip clip = soundClips.get(name);
-            if (clip != null) {
-                if (clip.isRunning()) {
-                    clip.stop();
-                }
-                clip.setFramePosition(0);
-                clip.start();
+        Sample sample = soundEffects.get(name);
+        if (sample != null) {
+            if (mixer.start()) {
+                mixer.play(sample, volume * gainScale, AudioMixer.panForX(x));
             }
         } else {
 
-            playTone(frequency, duration);
+            playTone(frequency, duration, x, gainScale);
         }
     }
 
-    private void playTone(float frequency, int duration) {
-        if (muted) return;
+    // Plays the effects requested during this tick; the game engine calls it once per tick.
+    public void flushSoundEvents() {
+        soundEvents.flush(GameClock.currentTimeMillis(), !muted);
+    }
 
-        new Thread(() -> {
-            try {
-                byte[] buffer = new byte[duration * 8000 / 1000];
-                for (int i = 0; i < buffer.length; i++) {
-                    double angle = 2.0 * Math.PI * i / (8000.0 / frequency);
-                    buffer[i] = (byte) (Math.sin(angle) * 127.0 * volume);
-                }
+    // Caps how often an effect may start; 0 removes the limit.
+    public void setMaxRate(String name, float perSecond) {
+        soundEvents.setMaxRate(name, perSecond);
+    }
 
-                AudioFormat format = new AudioFormat(8000, 8, 1, true, false);
-                SourceDataLine line = AudioSystem.getSourceDataLine(format);
-                line.open(format);
-                line.start();
-                line.write(buffer, 0, buffer.length);
-                line.drain();
-                line.close();
-            } catch (LineUnavailableException e) {
-                e.printStackTrace();
-            }
-        }).start();
+    public SoundEventBuffer getSoundEvents() {
+        return soundEvents;
+    }
+
+    // How many copies of an effect may overlap before the oldest is cut off.
+    public void setPolyphony(String name, int voices) {
+        Sample sample = soundEffects.get(name);
+        if (sample != null) {
+            sample.setPolyphony(voices);
+        }
+    }
+
+    // Tones go through the shared mixer thread instead of opening a line per sound.
+    private void playTone(float frequency, int duration, float x, float gainScale) {
+        if (muted) return;
+
+        if (mixer.start()) {
+            mixer.playTone(frequency, duration, volume * gainScale, AudioMixer.panForX(x));
+        }
     }
 
 
 // BACKGROUND MUSIC METHODS
 
+    // Cross-fades from the current track, so switching menu -> game -> boss needs no stop first.
     public void startBackgroundMusic(String musicName) {
         if (muted) return;
+        if (musicName.equals(currentBackgroundMusic)) return;
 
-        stopBackgroundMusic();
-
-        if (hasSoundFile(musicName)) {
-            currentBackgroundMusic = soundClips.get(musicName);
-            if (currentBackgroundMusic != null) {
-                currentBackgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
-                System.out.println("Started background music: " + musicName);
-            }
+        if (hasMusicFile(musicName)) {
+            musicPlayer.play(musicFiles.get(musicName));
+            currentBackgroundMusic = musicName;
+            System.out.println("Started background music: " + musicName);
         } else {
             System.out.println("Background music not found: " + musicName);
         }
     }
 
     public void stopBackgroundMusic() {
-        if (currentBackgroundMusic != null && currentBackgroundMusic.isRunning()) {
-            currentBackgroundMusic.stop();
-            currentBackgroundMusic.setFramePosition(0); // Rewind
+        if (currentBackgroundMusic != null) {
+            musicPlayer.stop();
             currentBackgroundMusic = null;
         }
     }
 
     public void pauseBackgroundMusic() {
-        if (currentBackgroundMusic != null && currentBackgroundMusic.isRunning()) {
-            currentBackgroundMusic.stop();
+        if (currentBackgroundMusic != null) {
+            musicPlayer.pause();
         }
     }
 
     public void resumeBackgroundMusic() {
-        if (currentBackgroundMusic != null && !currentBackgroundMusic.isRunning()) {
-            currentBackgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
+        if (currentBackgroundMusic != null) {
+            musicPlayer.resume();
         }
     }
 
     public void setBackgroundMusicVolume(float bgmVolume) {
-        if (currentBackgroundMusic != null &&
-                currentBackgroundMusic.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-
-            FloatControl gainControl = (FloatControl) currentBackgroundMusic.getControl(FloatControl.Type.MASTER_GAIN);
-            float dB = (float) (Math.log(bgmVolume) / Math.log(10.0) * 20.0);
-            gainControl.setValue(dB);
-        }
+        musicPlayer.setVolume(bgmVolume);
     }
 
 // SOUND EFFECTS METHODS
 
+    // Effects are queued and played together at the end of the tick, see flushSoundEvents().
     public void playShoot() {
-        playSoundOrTone("shoot", 800, 100);
+        playShoot(CENTER_X);
+    }
+
+    public void playShoot(float x) {
+        soundEvents.add(shootEvent, x);
     }
 
     public void playHit() {
-        playSoundOrTone("hit", 200, 200);
+        playHit(CENTER_X);
+    }
+
+    public void playHit(float x) {
+        soundEvents.add(hitEvent, x);
     }
 
     public void playExplosion() {
-        playSoundOrTone("explosion", 100, 500);
+        playExplosion(CENTER_X);
+    }
+
+    public void playExplosion(float x) {
+        soundEvents.add(explosionEvent, x);
     }
 
     public void playPowerup() {
-        playSoundOrTone("powerup", 600, 300);
+        playPowerup(CENTER_X);
+    }
+
+    public void playPowerup(float x) {
+        soundEvents.add(powerupEvent, x);
     }
 
     public void playDamage() {
-        playSoundOrTone("damage", 150, 300);
+        playDamage(CENTER_X);
+    }
+
+    public void playDamage(float x) {
+        soundEvents.add(damageEvent, x);
     }
 
 // MUTE / VOLUME CONTROLS
 
     public void toggleMute() {
+        if (!audioEnabled) return;
+
         muted = !muted;
         if (muted) {
             pauseBackgroundMusic();
@@ -200,6 +296,8 @@ public class SoundManager {
     }
 
     public void setMuted(boolean muted) {
+        if (!audioEnabled) return;
+
         this.muted = muted;
         if (muted) {
             pauseBackgroundMusic();
@@ -224,14 +322,8 @@ public class SoundManager {
 
     public void cleanup() {
         stopBackgroundMusic();
-        for (Clip clip : soundClips.values()) {
-            clip.close();
-        }
-        soundClips.clear();
-    }
-
-    public Clip getClip(String name) {
-        return soundClips.get(name);
+        mixer.shutdown();
+        musicPlayer.shutdown();
     }
 
 
@@ -65,13 +65,13 @@ public class AIController {
 
     private void shoot() {
         aiRocket.shoot();
-        soundManager.playShoot();
+        soundManager.playShoot(aiRocket.getX() + aiRocket.getWidth() / 2);
 
         float bx = aiRocket.getX() + aiRocket.getWidth()/2 - 3;
         float by = aiRocket.getY();
         int dmg = (int)(aiRocket.getDamage() * gameState.getDamageMultiplier());
 
-        Bullet b = new Bullet(bx, by, dmg, "normal");
+        Bullet b = gameState.getBulletPool().obtain(bx, by, dmg, "normal");
         b.setPlayerNumber(2);
         gameState.getBullets().add(b);
     }
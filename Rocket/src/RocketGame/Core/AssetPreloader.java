@@ -0,0 +1,133 @@
+package RocketGame.Core;
+
+import RocketGame.Audio.SoundManager;
+import RocketGame.Texture.TextureAtlas;
+
+import javax.media.opengl.GL;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes every image and sound on a small worker pool while the menu is up,
+ * so gameplay never waits on the disk. When the texture cache is still valid
+ * the images are not decoded at all. The CPU side (ImageIO decoding, atlas
+ * packing, mip generation, reading and decoding the sound effects into
+ * Samples, opening the mixer line) runs on the workers; the GL thread then
+ * calls uploadSlice() once per frame to send the textures a mip level at a
+ * time.
+ */
+public class AssetPreloader {
+    private static AssetPreloader instance;
+
+    private final TextureAtlas atlas;
+    private final AtomicInteger decoded = new AtomicInteger();
+    private final int decodeTotal;
+
+    private ExecutorService workers;
+    private volatile boolean decodeFinished = false;
+
+    public static synchronized AssetPreloader getInstance() {
+        if (instance == null) {
+            instance = new AssetPreloader(TextureAtlas.getInstance());
+        }
+        return instance;
+    }
+
+    private AssetPreloader(TextureAtlas atlas) {
+        this.atlas = atlas;
+        this.decodeTotal = atlas.getImageNames().length + SoundManager.SOUND_FILES.length;
+    }
+
+    public synchronized void start() {
+        if (workers != null) return;
+
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "asset-preloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // A valid texture cache makes decoding unnecessary.
+        CompletableFuture<Void> textures = CompletableFuture
+                .supplyAsync(atlas::prepareFromCache, workers)
+                .thenComposeAsync(cached -> {
+                    if (cached) {
+                        decoded.addAndGet(atlas.getImageNames().length);
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    return decodeImages();
+                }, workers);
+
+        List<CompletableFuture<Void>> soundTasks = new ArrayList<>();
+        for (String filename : SoundManager.SOUND_FILES) {
+            soundTasks.add(CompletableFuture.runAsync(() -> {
+                SoundManager.preloadSoundData(filename);
+                decoded.incrementAndGet();
+            }, workers));
+        }
+        // Building the manager here decodes the effect Samples and opens the mixer line off the GL and game threads.
+        CompletableFuture<Void> sounds = CompletableFuture
+                .allOf(soundTasks.toArray(new CompletableFuture<?>[0]))
+                .thenRunAsync(SoundManager::getInstance, workers);
+
+        CompletableFuture.allOf(textures, sounds).whenComplete((result, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+            }
+            decodeFinished = true;
+            workers.shutdown();
+        });
+    }
+
+    private CompletableFuture<Void> decodeImages() {
+        String[] imageNames = atlas.getImageNames();
+        BufferedImage[] images = new BufferedImage[imageNames.length];
+        List<CompletableFuture<Void>> imageTasks = new ArrayList<>();
+        for (int i = 0; i < imageNames.length; i++) {
+            final int index = i;
+            imageTasks.add(CompletableFuture.runAsync(() -> {
+                images[index] = TextureAtlas.decode(imageNames[index]);
+                decoded.incrementAndGet();
+            }, workers));
+        }
+        return CompletableFuture
+                .allOf(imageTasks.toArray(new CompletableFuture<?>[0]))
+                .thenRunAsync(() -> atlas.prepare(images), workers);
+    }
+
+    /**
+     * Sends the next slice of texture data to GL. Call once per frame from the GL thread.
+     * @return true once every asset is ready
+     */
+    public boolean uploadSlice(GL gl) {
+        if (atlas.isLoaded()) {
+            return decodeFinished;
+        }
+        if (atlas.isPrepared()) {
+            atlas.uploadNext(gl);
+        } else if (decodeFinished) {
+            // A worker failed before packing; finish on this thread instead.
+            atlas.load(gl);
+        }
+        return atlas.isLoaded() && decodeFinished;
+    }
+
+    public boolean isFinished() {
+        return decodeFinished && atlas.isLoaded();
+    }
+
+    // Decoding counts for the first half of the bar, GL uploads for the second.
+    public float getProgress() {
+        float decodeProgress = decodeTotal == 0 ? 1.0f : (float) decoded.get() / decodeTotal;
+        if (!atlas.isPrepared()) {
+            decodeProgress = Math.min(decodeProgress, 0.99f);
+        }
+        return 0.5f * decodeProgress + 0.5f * atlas.getUploadProgress();
+    }
+}
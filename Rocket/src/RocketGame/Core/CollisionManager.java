@@ -4,12 +4,20 @@ import RocketGame.Entities.*;
 import RocketGame.Effects.ParticleSystem;
 import RocketGame.Audio.SoundManager;
 import RocketGame.Util.Constants;
+import RocketGame.Util.GameClock;
 import java.util.List;
 
 public class CollisionManager {
+    private static final float GRID_CELL_SIZE = 64;
+
     private ParticleSystem particleSystem;
     private SoundManager soundManager;
 
+    private final SpatialGrid enemyGrid = new SpatialGrid(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT, GRID_CELL_SIZE);
+    private final SpatialGrid obstacleGrid = new SpatialGrid(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT, GRID_CELL_SIZE);
+    private final SpatialGrid enemyBulletGrid = new SpatialGrid(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT, GRID_CELL_SIZE);
+    private final SpatialGrid powerupGrid = new SpatialGrid(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT, GRID_CELL_SIZE);
+
     public CollisionManager(ParticleSystem particleSystem) {
         this.particleSystem = particleSystem;
         this.soundManager = SoundManager.getInstance();
@@ -25,7 +33,22 @@ public class CollisionManager {
         List<PowerUp> powerups = gameState.getPowerups();
         Boss boss = gameState.getBoss();
 
+        // Hits only deactivate entities; the grids index the lists as they are
+        // now and GameState compacts them once at the end of the tick.
+        enemyGrid.build(enemies);
+        obstacleGrid.build(obstacles);
+        enemyBulletGrid.clear();
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet bullet = bullets.get(i);
+            if (bullet.isActive() && bullet.isFromEnemy()) {
+                enemyBulletGrid.insert(bullet, i);
+            }
+        }
+
         checkBulletCollisions(bullets, enemies, obstacles, boss, gameState);
+
+        powerupGrid.build(powerups);
+
         checkRocketCollisions(rocket, enemies, obstacles, boss, gameState);
         checkPowerupCollisions(rocket, powerups, gameState);
 
@@ -40,82 +63,73 @@ public class CollisionManager {
 
         for (int i = bullets.size() - 1; i >= 0; i--) {
             Bullet bullet = bullets.get(i);
-            boolean bulletHit = false;
 
-            if (bullet.isFromEnemy()) {
+            if (bullet.isFromEnemy() || !bullet.isActive()) {
                 continue;
             }
 
             // Enemies
-            for (int j = enemies.size() - 1; j >= 0; j--) {
-                Enemy enemy = enemies.get(j);
-                if (bullet.collidesWith(enemy)) {
-                    enemy.takeDamage(bullet.getDamage());
-                    particleSystem.createHitEffect(bullet.getX(), bullet.getY(), new float[]{1.0f, 1.0f, 0.0f});
-                    soundManager.playHit();
-
-                    if (enemy.isDestroyed()) {
-                        particleSystem.createLargeExplosion(enemy.getX() + enemy.getWidth() / 2, enemy.getY() + enemy.getHeight() / 2, new float[]{1.0f, 0.5f, 0.0f});
-                        soundManager.playExplosion();
-                        if (bullet.getPlayerNumber() == 2) {
-                            gameState.addScorePlayer2(Constants.SCORE_ENEMY_DESTROY);
-                        } else {
-                            gameState.addScore(Constants.SCORE_ENEMY_DESTROY);
-                        }
-                        gameState.incrementCombo();
-                        enemies.remove(j);
-                        if (Math.random() < 0.3) {
-                            gameState.getPowerups().add(new PowerUp(enemy.getX(), enemy.getY()));
-                        }
+            Enemy enemy = findFirstHit(bullet, enemies, enemyGrid);
+            if (enemy != null) {
+                enemy.takeDamage(bullet.getDamage());
+                particleSystem.createHitEffect(bullet.getX(), bullet.getY(), new float[]{1.0f, 1.0f, 0.0f});
+                soundManager.playHit(bullet.getX());
+
+                if (enemy.isDestroyed()) {
+                    particleSystem.createLargeExplosion(enemy.getX() + enemy.getWidth() / 2, enemy.getY() + enemy.getHeight() / 2, new float[]{1.0f, 0.5f, 0.0f});
+                    soundManager.playExplosion(enemy.getX() + enemy.getWidth() / 2);
+                    if (bullet.getPlayerNumber() == 2) {
+                        gameState.addScorePlayer2(Constants.SCORE_ENEMY_DESTROY);
+                    } else {
+                        gameState.addScore(Constants.SCORE_ENEMY_DESTROY);
+                    }
+                    gameState.incrementCombo();
+                    enemy.destroy();
+                    if (Math.random() < 0.3) {
+                        gameState.getPowerups().add(new PowerUp(enemy.getX(), enemy.getY()));
                     }
-                    bullets.remove(i);
-                    bulletHit = true;
-                    break;
                 }
+                bullet.destroy();
+                continue;
             }
-            if (bulletHit) continue;
-
-            for (int j = obstacles.size() - 1; j >= 0; j--) {
-                Obstacle obstacle = obstacles.get(j);
-                if (bullet.collidesWith(obstacle)) {
-                    obstacle.takeDamage(bullet.getDamage());
-                    float[] color = {0.8f, 0.6f, 0.8f};
-                    particleSystem.createHitEffect(bullet.getX(), bullet.getY(), color);
-                    soundManager.playHit();
-
-                    if (obstacle.isDestroyed()) {
-                        particleSystem.createLargeExplosion(
-                                obstacle.getX() + obstacle.getWidth() / 2,
-                                obstacle.getY() + obstacle.getHeight() / 2,
-                                obstacle.getColor()
-                        );
-                        soundManager.playExplosion();
-                        if (bullet.getPlayerNumber() == 2) {
-                            gameState.addScorePlayer2(Constants.SCORE_OBSTACLE_DESTROY);
-                        } else {
-                            gameState.addScore(Constants.SCORE_OBSTACLE_DESTROY);
-                        }
-                        gameState.incrementCombo();
-                        obstacles.remove(j);
+
+            Obstacle obstacle = findFirstHit(bullet, obstacles, obstacleGrid);
+            if (obstacle != null) {
+                obstacle.takeDamage(bullet.getDamage());
+                float[] color = {0.8f, 0.6f, 0.8f};
+                particleSystem.createHitEffect(bullet.getX(), bullet.getY(), color);
+                soundManager.playHit(bullet.getX());
+
+                if (obstacle.isDestroyed()) {
+                    particleSystem.createLargeExplosion(
+                            obstacle.getX() + obstacle.getWidth() / 2,
+                            obstacle.getY() + obstacle.getHeight() / 2,
+                            obstacle.getColor()
+                    );
+                    soundManager.playExplosion(obstacle.getX() + obstacle.getWidth() / 2);
+                    if (bullet.getPlayerNumber() == 2) {
+                        gameState.addScorePlayer2(Constants.SCORE_OBSTACLE_DESTROY);
+                    } else {
+                        gameState.addScore(Constants.SCORE_OBSTACLE_DESTROY);
                     }
-                    bullets.remove(i);
-                    bulletHit = true;
-                    break;
+                    gameState.incrementCombo();
+                    obstacle.destroy();
                 }
+                bullet.destroy();
+                continue;
             }
-            if (bulletHit) continue;
 
             if (boss != null && boss.isActive()) {
                 if (bullet.collidesWith(boss)) {
                     boss.takeDamage(bullet.getDamage());
                     particleSystem.createHitEffect(bullet.getX(), bullet.getY(), new float[]{1.0f, 0.5f, 0.0f});
-                    soundManager.playHit();
+                    soundManager.playHit(bullet.getX());
 
                     if (boss.isDefeated()) {
                         System.out.println("kda ksebna");
 
                         particleSystem.createBossExplosion(boss.getX() + boss.getWidth() / 2, boss.getY() + boss.getHeight() / 2);
-                        soundManager.playExplosion();
+                        soundManager.playExplosion(boss.getX() + boss.getWidth() / 2);
                         if (bullet.getPlayerNumber() == 2) {
                             gameState.addScorePlayer2(Constants.SCORE_BOSS_DESTROY);
                         } else {
@@ -128,32 +142,45 @@ public class CollisionManager {
                         gameState.setGameOver(true);
                     }
 
-                    bullets.remove(i);
-                    bulletHit = true;
+                    bullet.destroy();
                 }
             }
         }
     }
 
+    // Highest-index active object that overlaps, matching the old reverse scan.
+    private <T extends GameObject> T findFirstHit(GameObject source, List<T> targets, SpatialGrid grid) {
+        int count = grid.query(source);
+        for (int k = 0; k < count; k++) {
+            T target = targets.get(grid.getResult(k));
+            if (target.isActive() && source.collidesWith(target)) {
+                return target;
+            }
+        }
+        return null;
+    }
+
     private void checkRocketCollisions(Rocket rocket, List<Enemy> enemies,
                                        List<Obstacle> obstacles, Boss boss, GameState gameState) {
         if (rocket.isInvincible()) return;
 
-        for (int i = enemies.size() - 1; i >= 0; i--) {
-            Enemy enemy = enemies.get(i);
-            if (rocket.collidesWith(enemy)) {
+        int count = enemyGrid.query(rocket);
+        for (int k = 0; k < count; k++) {
+            Enemy enemy = enemies.get(enemyGrid.getResult(k));
+            if (enemy.isActive() && rocket.collidesWith(enemy)) {
                 handleRocketDamage(rocket, 25, gameState);
                 particleSystem.createExplosion(enemy.getX() + enemy.getWidth()/2, enemy.getY() + enemy.getHeight()/2, new float[]{1.0f, 0.3f, 0.3f}, 20);
-                enemies.remove(i);
+                enemy.destroy();
             }
         }
 
-        for (int i = obstacles.size() - 1; i >= 0; i--) {
-            Obstacle obstacle = obstacles.get(i);
-            if (rocket.collidesWith(obstacle)) {
+        count = obstacleGrid.query(rocket);
+        for (int k = 0; k < count; k++) {
+            Obstacle obstacle = obstacles.get(obstacleGrid.getResult(k));
+            if (obstacle.isActive() && rocket.collidesWith(obstacle)) {
                 handleRocketDamage(rocket, 20, gameState);
                 particleSystem.createExplosion(obstacle.getX() + obstacle.getWidth()/2, obstacle.getY() + obstacle.getHeight()/2, new float[]{1.0f, 0.3f, 0.3f}, 15);
-                obstacles.remove(i);
+                obstacle.destroy();
             }
         }
 
@@ -165,19 +192,20 @@ public class CollisionManager {
         }
 
         List<Bullet> bullets = gameState.getBullets();
-        for (int i = bullets.size() - 1; i >= 0; i--) {
-            Bullet bullet = bullets.get(i);
-            if (bullet.isFromEnemy() && rocket.collidesWith(bullet)) {
+        count = enemyBulletGrid.query(rocket);
+        for (int k = 0; k < count; k++) {
+            Bullet bullet = bullets.get(enemyBulletGrid.getResult(k));
+            if (bullet.isActive() && rocket.collidesWith(bullet)) {
                 handleRocketDamage(rocket, bullet.getDamage(), gameState);
                 particleSystem.createHitEffect(bullet.getX(), bullet.getY(), new float[]{1.0f, 0.5f, 0.0f});
-                bullets.remove(i);
+                bullet.destroy();
             }
         }
     }
 
     private void handleRocketDamage(Rocket rocket, int damage, GameState gameState) {
         rocket.takeDamage(damage);
-        soundManager.playDamage();
+        soundManager.playDamage(rocket.getX() + rocket.getWidth() / 2);
 
         if (rocket.isDead()) {
             if (rocket == gameState.getRocket()) {
@@ -186,7 +214,7 @@ public class CollisionManager {
                 gameState.loseLifePlayer2();
             }
             particleSystem.createLargeExplosion(rocket.getX() + rocket.getWidth() / 2, rocket.getY() + rocket.getHeight() / 2, new float[]{1.0f, 0.0f, 0.0f});
-            soundManager.playExplosion();
+            soundManager.playExplosion(rocket.getX() + rocket.getWidth() / 2);
             gameState.resetCombo();
 
             boolean p1Alive = (rocket == gameState.getRocket() && gameState.getLives() > 0);
@@ -200,9 +228,10 @@ public class CollisionManager {
     }
 
     private void checkPowerupCollisions(Rocket rocket, List<PowerUp> powerups, GameState gameState) {
-        for (int i = powerups.size() - 1; i >= 0; i--) {
-            PowerUp powerup = powerups.get(i);
-            if (rocket.collidesWith(powerup)) {
+        int count = powerupGrid.query(rocket);
+        for (int k = 0; k < count; k++) {
+            PowerUp powerup = powerups.get(powerupGrid.getResult(k));
+            if (powerup.isActive() && rocket.collidesWith(powerup)) {
                 powerup.applyToRocket(rocket);
                 if (powerup.getType() == PowerUp.PowerupType.COIN) {
                     gameState.addScore(powerup.getScoreValue());
@@ -211,15 +240,15 @@ public class CollisionManager {
                 }
                 float[] color = new float[]{0.0f, 1.0f, 0.0f};
                 particleSystem.createPowerupEffect(powerup.getX() + powerup.getWidth() / 2, powerup.getY() + powerup.getHeight() / 2, color);
-                soundManager.playPowerup();
-                powerups.remove(i);
+                soundManager.playPowerup(powerup.getX() + powerup.getWidth() / 2);
+                powerup.destroy();
             }
         }
     }
 
     public void updateCombo(GameState gameState) {
         if (gameState.getCombo() > 0) {
-            long currentTime = System.currentTimeMillis();
+            long currentTime = GameClock.currentTimeMillis();
             if (currentTime - gameState.getComboTimer() > 3000) {
                 gameState.resetCombo();
             }
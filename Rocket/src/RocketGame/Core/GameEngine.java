@@ -19,6 +19,8 @@ public class GameEngine {
     private long gameOverTimestamp = 0;
     private long lastUpdateTime;
     private float deltaTime;
+    private float accumulator;
+    private float interpolationAlpha;
     private long lastObstacleSpawn;
     private long lastEnemySpawn;
     private int obstacleSpawnInterval;
@@ -29,6 +31,7 @@ public class GameEngine {
     private long levelTransitionStartTime;
     private int levelTransitionDuration = 2000;
     private boolean showUpgradeMenu = false;
+    private boolean bossMusicPlaying = false;
     private String[] upgradeOptions;
     private int selectedUpgrade;
     private long lastMouseShot = 0;
@@ -56,12 +59,14 @@ public class GameEngine {
             this.aiController = new AIController(gameState);
         }
 
-        this.lastUpdateTime = System.currentTimeMillis();
+        this.lastUpdateTime = System.nanoTime();
         this.deltaTime = 0;
+        this.accumulator = 0;
+        this.interpolationAlpha = 1.0f;
         this.obstacleSpawnInterval = 1000;
         this.enemySpawnInterval = 2000;
-        this.lastObstacleSpawn = System.currentTimeMillis();
-        this.lastEnemySpawn = System.currentTimeMillis();
+        this.lastObstacleSpawn = GameClock.currentTimeMillis();
+        this.lastEnemySpawn = GameClock.currentTimeMillis();
         this.levelTransitioning = false;
         this.levelTransitionDuration = 2000;
         this.showUpgradeMenu = false;
@@ -114,14 +119,45 @@ public class GameEngine {
     }
 
     public void update() {
-        long currentTime = System.currentTimeMillis();
-        deltaTime = (currentTime - lastUpdateTime) / 1000.0f;
+        long currentTime = System.nanoTime();
+        deltaTime = (currentTime - lastUpdateTime) / 1000000000.0f;
         lastUpdateTime = currentTime;
 
-        if (deltaTime > 0.1f) {
-            deltaTime = 0.1f;
+        if (deltaTime > Constants.MAX_FRAME_TIME) {
+            deltaTime = Constants.MAX_FRAME_TIME;
         }
 
+        accumulator += deltaTime;
+
+        int ticks = 0;
+        while (accumulator >= Constants.TICK_SECONDS && ticks < Constants.MAX_TICKS_PER_FRAME) {
+            tick();
+            accumulator -= Constants.TICK_SECONDS;
+            ticks++;
+        }
+
+        // Too far behind to catch up: drop the backlog instead of spiralling.
+        if (accumulator >= Constants.TICK_SECONDS) {
+            accumulator %= Constants.TICK_SECONDS;
+        }
+
+        interpolationAlpha = accumulator / Constants.TICK_SECONDS;
+    }
+
+    public void step() {
+        tick();
+        interpolationAlpha = 1.0f;
+    }
+
+    private void tick() {
+        GameClock.advance(Constants.TICK_SECONDS * 1000.0);
+        runTick();
+        soundManager.flushSoundEvents();
+    }
+
+    private void runTick() {
+        savePreviousPositions();
+
         if (gameState.isGameOver()) {
             handleGameOver();
             return;
@@ -154,6 +190,34 @@ public class GameEngine {
         cleanupEntities();
     }
 
+    private void savePreviousPositions() {
+        gameState.getRocket().savePreviousPosition();
+
+        if (gameState.getRocket2() != null) {
+            gameState.getRocket2().savePreviousPosition();
+        }
+
+        for (int i = 0; i < gameState.getBullets().size(); i++) {
+            gameState.getBullets().get(i).savePreviousPosition();
+        }
+
+        for (int i = 0; i < gameState.getEnemies().size(); i++) {
+            gameState.getEnemies().get(i).savePreviousPosition();
+        }
+
+        for (int i = 0; i < gameState.getObstacles().size(); i++) {
+            gameState.getObstacles().get(i).savePreviousPosition();
+        }
+
+        for (int i = 0; i < gameState.getPowerups().size(); i++) {
+            gameState.getPowerups().get(i).savePreviousPosition();
+        }
+
+        if (gameState.getBoss() != null) {
+            gameState.getBoss().savePreviousPosition();
+        }
+    }
+
     private void handlePauseInput() {
         if (inputHandler == null) return;
 
@@ -172,19 +236,17 @@ public class GameEngine {
 
     private void handleGameOver() {
         if (gameOverTimestamp == 0) {
-            gameOverTimestamp = System.currentTimeMillis();
+            gameOverTimestamp = GameClock.currentTimeMillis();
+            // The one place a finished game is recorded, however the player leaves the game-over screen.
+            recordGameStats(gameState.getUsername(), gameState.getScore(), gameState.isVictory());
         }
 
-        if (System.currentTimeMillis() - gameOverTimestamp < 2000) {
+        if (GameClock.currentTimeMillis() - gameOverTimestamp < 2000) {
             return;
         }
 
         if (inputHandler != null) {
             if (inputHandler.isKeyPressed(KeyEvent.VK_SPACE) || inputHandler.isKeyPressed(KeyEvent.VK_ENTER)) {
-                Rocket rocket = gameState.getRocket();
-                int finalScore = gameState.getScore();
-                boolean isVictory = rocket.getHealth() > 0;
-                recordGameStats(gameState.getUsername(), finalScore, isVictory);
                 restart();
             }
         }
@@ -196,13 +258,13 @@ public class GameEngine {
         if (!rocket.canShoot()) return;
 
         rocket.shoot();
-        soundManager.playShoot();
+        soundManager.playShoot(rocket.getX() + rocket.getWidth() / 2);
 
         float bulletX = rocket.getX() + rocket.getWidth() / 2 - 3;
         float bulletY = rocket.getY();
         int damage = (int) (rocket.getDamage() * gameState.getDamageMultiplier());
 
-        Bullet bullet = new Bullet(bulletX, bulletY, damage, "normal");
+        Bullet bullet = gameState.getBulletPool().obtain(bulletX, bulletY, damage, "normal");
         bullet.setPlayerNumber(1);
         gameState.getBullets().add(bullet);
 
@@ -211,14 +273,14 @@ public class GameEngine {
         if (weaponType.equals("spread")) {
             for (int i = -1; i <= 1; i++) {
                 float angle = i * 15;
-                Bullet bullet1 = new Bullet(bulletX, bulletY, damage, angle);
+                Bullet bullet1 = gameState.getBulletPool().obtainSpread(bulletX, bulletY, damage, angle);
                 gameState.getBullets().add(bullet1);
             }
         } else if (weaponType.equals("laser")) {
-            Bullet bullet2 = new Bullet(bulletX, bulletY, damage * 2, "laser");
+            Bullet bullet2 = gameState.getBulletPool().obtain(bulletX, bulletY, damage * 2, "laser");
             gameState.getBullets().add(bullet2);
         } else {
-            Bullet bullet3 = new Bullet(bulletX, bulletY, damage, "normal");
+            Bullet bullet3 = gameState.getBulletPool().obtain(bulletX, bulletY, damage, "normal");
             gameState.getBullets().add(bullet3);
         }
     }
@@ -241,7 +303,7 @@ public class GameEngine {
             if (enemy.canShoot()) {
                 float bulletX = enemy.getX() + enemy.getWidth() / 2;
                 float bulletY = enemy.getY() + enemy.getHeight();
-                Bullet enemyBullet = new Bullet(bulletX, bulletY, 10, true);
+                Bullet enemyBullet = gameState.getBulletPool().obtainEnemy(bulletX, bulletY, 10);
                 gameState.getBullets().add(enemyBullet);
             }
         }
@@ -262,7 +324,7 @@ public class GameEngine {
                 List<Vector2D> positions = boss.getBulletSpawnPositions();
                 for (int i = 0; i < positions.size(); i++) {
                     Vector2D pos = positions.get(i);
-                    Bullet bossBullet = new Bullet(pos.x, pos.y, 15, true, "planet");
+                    Bullet bossBullet = gameState.getBulletPool().obtainPlanet(pos.x, pos.y, 15);
                     gameState.getBullets().add(bossBullet);
                 }
             }
@@ -343,18 +405,18 @@ public class GameEngine {
     }
 
     private void shootWithMouse(Rocket rocket) {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.currentTimeMillis();
         if (currentTime - lastMouseShot < 200) return;
 
         if (rocket.canShoot()) {
             rocket.shoot();
-            soundManager.playShoot();
+            soundManager.playShoot(rocket.getX() + rocket.getWidth() / 2);
 
             float bx = rocket.getX() + rocket.getWidth() / 2 - 3;
             float by = rocket.getY();
             int dmg = (int) (rocket.getDamage() * gameState.getDamageMultiplier());
 
-            Bullet b = new Bullet(bx, by, dmg, "normal");
+            Bullet b = gameState.getBulletPool().obtain(bx, by, dmg, "normal");
             gameState.getBullets().add(b);
             b.setPlayerNumber(2);
 
@@ -363,7 +425,7 @@ public class GameEngine {
     }
 
     private void spawnEntities() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.currentTimeMillis();
 
         if (gameState.hasBoss()) return;
 
@@ -511,6 +573,12 @@ public class GameEngine {
         if (!gameState.hasBoss()) {
             checkLevelUp();
         }
+
+        // The boss fight gets its own track; cross-fade back once it is over.
+        if (gameState.hasBoss() != bossMusicPlaying) {
+            bossMusicPlaying = gameState.hasBoss();
+            soundManager.startBackgroundMusic(bossMusicPlaying ? "boss" : "background");
+        }
     }
 
     private void checkLevelUp() {
@@ -527,14 +595,14 @@ public class GameEngine {
 
     private void startLevelTransition() {
         levelTransitioning = true;
-        levelTransitionStartTime = System.currentTimeMillis();
+        levelTransitionStartTime = GameClock.currentTimeMillis();
         gameState.clearAllEntities();
         showUpgradeMenu = true;
         selectedUpgrade = 0;
     }
 
     private void handleLevelTransition() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.currentTimeMillis();
         long elapsed = currentTime - levelTransitionStartTime;
 
         if (elapsed >= levelTransitionDuration) {
@@ -581,40 +649,46 @@ public class GameEngine {
     }
 
     private void cleanupEntities() {
-        for (int i = gameState.getBullets().size() - 1; i >= 0; i--) {
-            Bullet bullet = gameState.getBullets().get(i);
+        List<Bullet> bullets = gameState.getBullets();
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet bullet = bullets.get(i);
             if (bullet.isOffScreen(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT)) {
-                gameState.getBullets().remove(i);
+                bullet.destroy();
             }
         }
 
-        for (int i = gameState.getEnemies().size() - 1; i >= 0; i--) {
-            Enemy enemy = gameState.getEnemies().get(i);
+        List<Enemy> enemies = gameState.getEnemies();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
             if (enemy.isOutOfBounds(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT)) {
-                gameState.getEnemies().remove(i);
+                enemy.destroy();
             }
         }
 
-        for (int i = gameState.getObstacles().size() - 1; i >= 0; i--) {
-            Obstacle obstacle = gameState.getObstacles().get(i);
+        List<Obstacle> obstacles = gameState.getObstacles();
+        for (int i = 0; i < obstacles.size(); i++) {
+            Obstacle obstacle = obstacles.get(i);
             if (obstacle.isOutOfBounds(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT)) {
-                gameState.getObstacles().remove(i);
+                obstacle.destroy();
             }
         }
 
-        for (int i = gameState.getPowerups().size() - 1; i >= 0; i--) {
-            PowerUp powerup = gameState.getPowerups().get(i);
+        List<PowerUp> powerups = gameState.getPowerups();
+        for (int i = 0; i < powerups.size(); i++) {
+            PowerUp powerup = powerups.get(i);
             if (powerup.isOutOfBounds(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT)) {
-                gameState.getPowerups().remove(i);
+                powerup.destroy();
             }
         }
+
+        gameState.compactEntities();
     }
 
     public void restart() {
         gameState.reset(currentLevelDifficulty);
         particleSystem.clear();
-        lastObstacleSpawn = System.currentTimeMillis();
-        lastEnemySpawn = System.currentTimeMillis();
+        lastObstacleSpawn = GameClock.currentTimeMillis();
+        lastEnemySpawn = GameClock.currentTimeMillis();
         levelTransitioning = false;
         showUpgradeMenu = false;
         gameOverTimestamp = 0;
@@ -634,7 +708,7 @@ public class GameEngine {
 
     public void recordGameStats(String username, int score, boolean isVictory) {
         long playTimeSeconds = gameTimeCalculator.getGameTimeInSeconds();
-        UserStatsManager statsManager = new UserStatsManager();
+        UserStatsManager statsManager = UserStatsManager.getInstance();
         statsManager.updatePlayerStats(username, score, playTimeSeconds, isVictory);
         statsManager.printLeaderboard();
 
@@ -672,6 +746,10 @@ public class GameEngine {
         return deltaTime;
     }
 
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+
     public GameTimeCalculator getGameTimeCalculator() {
         return gameTimeCalculator;
     }
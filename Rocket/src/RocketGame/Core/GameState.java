@@ -3,6 +3,8 @@ package RocketGame.Core;
 import RocketGame.Entities.*;
 import RocketGame.Effects.Particle;
 import RocketGame.Util.Constants;
+import RocketGame.Util.GameClock;
+import RocketGame.Util.StatsWriter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +35,7 @@ public class GameState {
     private List<PowerUp> powerups;
     private List<Particle> particles;
     private Boss boss;
+    private final BulletPool bulletPool = new BulletPool();
 
     private float damageMultiplier;
     private float speedMultiplier;
@@ -52,6 +55,8 @@ public class GameState {
     private String username;
     private String username2;
 
+    private boolean persistHighScore = true;
+
 
     public GameState() {
         initialize(false , 1);
@@ -70,7 +75,7 @@ public class GameState {
         lives = Constants.INITIAL_LIVES;
         livesPlayer2 = Constants.INITIAL_LIVES;
         combo = 0;
-        comboTimer = System.currentTimeMillis();
+        comboTimer = GameClock.currentTimeMillis();
         difficulty = 1.0f;
 
         float rocketX = (Constants.WINDOW_WIDTH - Constants.ROCKET_WIDTH) / 2;
@@ -97,6 +102,9 @@ public class GameState {
             rocket2 = null;
         }
 
+        if (bullets != null) {
+            bulletPool.releaseAll(bullets);
+        }
         bullets = new ArrayList<>();
         enemies = new ArrayList<>();
         obstacles = new ArrayList<>();
@@ -108,8 +116,8 @@ public class GameState {
         speedMultiplier = 1.0f;
         fireRateMultiplier = 1.0f;
 
-        lastObstacleSpawn = System.currentTimeMillis();
-        lastEnemySpawn = System.currentTimeMillis();
+        lastObstacleSpawn = GameClock.currentTimeMillis();
+        lastEnemySpawn = GameClock.currentTimeMillis();
 
         rapidFireEndTime = 0;
         spreadShotEndTime = 0;
@@ -137,6 +145,12 @@ public class GameState {
     }
 
     private void loadHighScore() {
+        // A score saved this session may still be queued for the disk, and is newer than the file anyway.
+        int saved = StatsWriter.getInstance().getHighScore();
+        if (saved >= 0) {
+            highScore = saved;
+            return;
+        }
         try {
             java.io.File file = new java.io.File("highscore.txt");
             if (file.exists()) {
@@ -152,27 +166,19 @@ public class GameState {
         }
     }
 
-    private void saveHighScore() {
-        try {
-            java.io.BufferedWriter writer = new java.io.BufferedWriter(new java.io.FileWriter("highscore.txt"));
-            writer.write(String.valueOf(highScore));
-            writer.close();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
-
     public void updateHighScore() {
         int currentTotalScore = score + scorePlayer2;
 
         if (currentTotalScore > highScore) {
             highScore = currentTotalScore;
-            saveHighScore();
+            if (persistHighScore) {
+                StatsWriter.getInstance().saveHighScore(highScore);
+            }
         }
     }
 
     public void updateTemporaryPowerups() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.currentTimeMillis();
 
         if (rapidFireEndTime > 0 && currentTime >= rapidFireEndTime) {
             rocket.setFireRate(250);
@@ -191,7 +197,7 @@ public class GameState {
     }
 
     public void activatePowerup(PowerUp.PowerupType type, int duration) {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.currentTimeMillis();
 
         switch (type) {
             case RAPID_FIRE:
@@ -225,6 +231,8 @@ public class GameState {
         boss = new Boss(bossX, bossY);
     }
 
+    public void setPersistHighScore(boolean persistHighScore) { this.persistHighScore = persistHighScore; }
+
     public boolean isVictory() { return victory; }
     public void setVictory(boolean victory) { this.victory = victory; }
 
@@ -272,7 +280,7 @@ public class GameState {
     public void setCombo(int combo) { this.combo = combo; }
     public void incrementCombo() {
         combo++;
-        comboTimer = System.currentTimeMillis();
+        comboTimer = GameClock.currentTimeMillis();
     }
     public void resetCombo() { combo = 0; }
     public long getComboTimer() { return comboTimer; }
@@ -281,6 +289,7 @@ public class GameState {
     public Rocket getRocket() { return rocket; }
     public void setRocket(Rocket rocket) { this.rocket = rocket; }
     public List<Bullet> getBullets() { return bullets; }
+    public BulletPool getBulletPool() { return bulletPool; }
     public void setBullets(List<Bullet> bullets) { this.bullets = bullets; }
     public List<Enemy> getEnemies() { return enemies; }
     public void setEnemies(List<Enemy> enemies) { this.enemies = enemies; }
@@ -323,7 +332,45 @@ public class GameState {
     public boolean hasBoss() { return boss != null; }
     public boolean isBossLevel() { return level % Constants.BOSS_SPAWN_LEVEL == 0; }
 
+    // Drops every entity whose active flag was cleared during the tick, in one O(n) pass per list.
+    // Bullets are all drawn alike so they use swap-with-last and go back to the pool;
+    // the rest keep their draw order.
+    public void compactEntities() {
+        compactBullets();
+        removeInactive(enemies);
+        removeInactive(obstacles);
+        removeInactive(powerups);
+    }
+
+    private static <T extends GameObject> void removeInactive(List<T> entities) {
+        int kept = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            T entity = entities.get(i);
+            if (entity.isActive()) {
+                entities.set(kept++, entity);
+            }
+        }
+        entities.subList(kept, entities.size()).clear();
+    }
+
+    private void compactBullets() {
+        int size = bullets.size();
+        int i = 0;
+        while (i < size) {
+            Bullet bullet = bullets.get(i);
+            if (bullet.isActive()) {
+                i++;
+            } else {
+                bulletPool.release(bullet);
+                size--;
+                bullets.set(i, bullets.get(size));
+                bullets.remove(size);
+            }
+        }
+    }
+
     public void clearAllEntities() {
+        bulletPool.releaseAll(bullets);
         bullets.clear();
         enemies.clear();
         obstacles.clear();
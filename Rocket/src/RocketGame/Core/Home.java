@@ -1,18 +1,18 @@
 package RocketGame.Core;
 
+import RocketGame.Audio.SoundManager;
 import RocketGame.Main.RocketGame;
 import RocketGame.Rendering.AnimListener;
-import RocketGame.Texture.TextureReader;
+import RocketGame.Texture.TextureAtlas;
+import RocketGame.Texture.TextureManager;
 import RocketGame.Util.Constants;
 import RocketGame.Util.UserStatsManager;
 
 import javax.media.opengl.GL;
 import javax.media.opengl.GLAutoDrawable;
-import javax.media.opengl.glu.GLU;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
-import java.io.IOException;
 import javax.swing.JOptionPane;
 
 public class Home extends AnimListener implements MouseListener {
@@ -24,9 +24,10 @@ public class Home extends AnimListener implements MouseListener {
             "single.png","multi.png","howtoplay.png","easy.png","medium.png",
             "hard.png","back.png","ai.png", "background.png"};
 
-    TextureReader.Texture texture[] = new TextureReader.Texture[textureNames.length];
-
-    int textures[] = new int[textureNames.length];
+    TextureManager textureManager = TextureManager.getInstance();
+    AssetPreloader preloader = AssetPreloader.getInstance();
+    boolean texturesAcquired = false;
+    boolean menuMusicStarted = false;
 
     int startX = 300;
     int startY = 200;
@@ -60,11 +61,11 @@ public class Home extends AnimListener implements MouseListener {
 
     public Home(RocketGame game) {
         this.game = game;
-        this.statsManager = new UserStatsManager();
+        this.statsManager = UserStatsManager.getInstance();
     }
 
     public Home() {
-        this.statsManager = new UserStatsManager();
+        this.statsManager = UserStatsManager.getInstance();
     }
 
     @Override
@@ -79,23 +80,9 @@ public class Home extends AnimListener implements MouseListener {
         gl.glEnable(GL.GL_TEXTURE_2D);
         gl.glEnable(GL.GL_BLEND);
         gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
-        gl.glGenTextures(textureNames.length, textures, 0);
-
-        for(int i = 0; i < textureNames.length; i++){
-            try {
-                texture[i] = TextureReader.readTexture(assetsFolderName + "//" + textureNames[i] ,
-                        true);
-                gl.glBindTexture(GL.GL_TEXTURE_2D, textures[i]);
-                new GLU().gluBuild2DMipmaps(
-                        GL.GL_TEXTURE_2D, GL.GL_RGBA,
-                        texture[i].getWidth(), texture[i].getHeight(),
-                        GL.GL_RGBA, GL.GL_UNSIGNED_BYTE,
-                        texture[i].getPixels()
-                );
-            } catch( IOException e ) {
-                System.out.println(e);
-                e.printStackTrace();
-            }
+        if (!texturesAcquired) {
+            textureManager.acquireAll(gl, textureNames);
+            texturesAcquired = true;
         }
 
         System.out.println("\n=== GAME STARTED ===");
@@ -109,6 +96,17 @@ public class Home extends AnimListener implements MouseListener {
         gl.glClear(GL.GL_COLOR_BUFFER_BIT);
         gl.glLoadIdentity();
 
+        if (!preloader.isFinished()) {
+            preloader.uploadSlice(gl);
+            drawLoadingBar(gl, preloader.getProgress());
+            return;
+        }
+
+        if (!menuMusicStarted) {
+            SoundManager.getInstance().startBackgroundMusic("menu");
+            menuMusicStarted = true;
+        }
+
         drawTexture(gl, textureNames.length - 1, 0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
 
         if (!showHelp && !isSelectionMode && !isLevelSelection) {
@@ -130,18 +128,66 @@ public class Home extends AnimListener implements MouseListener {
         }
     }
 
+    // Atlas regions have v0 at the top of the image. Missing images still draw as a plain quad, as before.
     public void drawTexture(GL gl, int textureIndex, float x, float y, float width, float height){
-        gl.glBindTexture(GL.GL_TEXTURE_2D, textures[textureIndex]);
+        TextureAtlas.Region region = textureManager.getRegion(gl, textureNames[textureIndex]);
+        if (region == null) {
+            gl.glDisable(GL.GL_TEXTURE_2D);
+            gl.glBegin(GL.GL_QUADS);
+            gl.glVertex2f(x, y);
+            gl.glVertex2f(x + width, y);
+            gl.glVertex2f(x + width, y + height);
+            gl.glVertex2f(x, y + height);
+            gl.glEnd();
+            gl.glEnable(GL.GL_TEXTURE_2D);
+            return;
+        }
+
+        gl.glBindTexture(GL.GL_TEXTURE_2D, region.texture);
         gl.glBegin(GL.GL_QUADS);
-        gl.glTexCoord2f(0.0f, 0.0f);
+        gl.glTexCoord2f(region.u0, region.v1);
         gl.glVertex2f(x, y + height);
-        gl.glTexCoord2f(1.0f, 0.0f);
+        gl.glTexCoord2f(region.u1, region.v1);
         gl.glVertex2f(x + width, y + height);
-        gl.glTexCoord2f(1.0f, 1.0f);
+        gl.glTexCoord2f(region.u1, region.v0);
+        gl.glVertex2f(x + width, y);
+        gl.glTexCoord2f(region.u0, region.v0);
+        gl.glVertex2f(x, y);
+        gl.glEnd();
+    }
+
+    private void drawLoadingBar(GL gl, float progress) {
+        float x = 200;
+        float y = 290;
+        float width = 400;
+        float height = 20;
+
+        gl.glDisable(GL.GL_TEXTURE_2D);
+        gl.glColor3f(0.3f, 0.3f, 0.3f);
+        gl.glBegin(GL.GL_QUADS);
+        gl.glVertex2f(x, y);
         gl.glVertex2f(x + width, y);
-        gl.glTexCoord2f(0.0f, 1.0f);
+        gl.glVertex2f(x + width, y + height);
+        gl.glVertex2f(x, y + height);
+        gl.glEnd();
+
+        gl.glColor3f(0.2f, 0.8f, 1.0f);
+        gl.glBegin(GL.GL_QUADS);
         gl.glVertex2f(x, y);
+        gl.glVertex2f(x + width * progress, y);
+        gl.glVertex2f(x + width * progress, y + height);
+        gl.glVertex2f(x, y + height);
         gl.glEnd();
+
+        gl.glColor3f(1.0f, 1.0f, 1.0f);
+        gl.glEnable(GL.GL_TEXTURE_2D);
+    }
+
+    public void releaseTextures() {
+        if (texturesAcquired) {
+            textureManager.releaseAll(textureNames);
+            texturesAcquired = false;
+        }
     }
 
     @Override
@@ -185,6 +231,8 @@ public class Home extends AnimListener implements MouseListener {
 
     @Override
     public void mouseClicked(MouseEvent e) {
+        if (!preloader.isFinished()) return;
+
         int mx = e.getX();
         int my = e.getY();
         boolean backClicked = false;
@@ -288,7 +336,11 @@ public class Home extends AnimListener implements MouseListener {
 
             if (mx >= exitX && mx <= exitX + btnWidth && my >= exitY && my <= exitY + btnHeight){
                 System.out.println("Exit Game Clicked!");
-                System.exit(0);
+                if (game != null) {
+                    game.exit();
+                } else {
+                    System.exit(0);
+                }
             }
         } else {
             showHelp = false;
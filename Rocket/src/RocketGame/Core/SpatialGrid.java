@@ -0,0 +1,142 @@
+package RocketGame.Core;
+
+import RocketGame.Entities.GameObject;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform grid over the play field used as a collision broadphase.
+ * Objects are stored by their index in the source list, and each query
+ * returns candidate indices sorted from highest to lowest so callers can
+ * keep the "last in list wins" order of the old brute-force loops.
+ * Anything outside the field is clamped into the border cells.
+ */
+public class SpatialGrid {
+    private final float cellSize;
+    private final float originX;
+    private final float originY;
+    private final int columns;
+    private final int rows;
+
+    private final int[] cellHeads;
+    private int[] entryNext = new int[256];
+    private int[] entryItem = new int[256];
+    private int entryCount;
+
+    private int[] itemStamps = new int[128];
+    private int stamp;
+
+    private int[] results = new int[32];
+    private int resultCount;
+
+    public SpatialGrid(int fieldWidth, int fieldHeight, float cellSize) {
+        this.cellSize = cellSize;
+        this.originX = -cellSize;
+        this.originY = -cellSize;
+        this.columns = (int) Math.ceil(fieldWidth / cellSize) + 2;
+        this.rows = (int) Math.ceil(fieldHeight / cellSize) + 2;
+        this.cellHeads = new int[columns * rows];
+        Arrays.fill(cellHeads, -1);
+    }
+
+    public void clear() {
+        Arrays.fill(cellHeads, -1);
+        entryCount = 0;
+    }
+
+    public void build(List<? extends GameObject> objects) {
+        clear();
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject object = objects.get(i);
+            if (object.isActive()) {
+                insert(object, i);
+            }
+        }
+    }
+
+    public void insert(GameObject object, int index) {
+        if (index >= itemStamps.length) {
+            itemStamps = Arrays.copyOf(itemStamps, Math.max(index + 1, itemStamps.length * 2));
+        }
+
+        int minColumn = columnOf(object.getX());
+        int maxColumn = columnOf(object.getX() + object.getWidth());
+        int minRow = rowOf(object.getY());
+        int maxRow = rowOf(object.getY() + object.getHeight());
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                int cell = row * columns + column;
+                if (entryCount == entryItem.length) {
+                    entryItem = Arrays.copyOf(entryItem, entryCount * 2);
+                    entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+                }
+                entryItem[entryCount] = index;
+                entryNext[entryCount] = cellHeads[cell];
+                cellHeads[cell] = entryCount;
+                entryCount++;
+            }
+        }
+    }
+
+    /**
+     * Collects the indices of every stored object whose cells overlap the
+     * bounds of {@code object}. Candidates still need an exact collidesWith check.
+     * @return the number of candidates, readable through {@link #getResult(int)}
+     */
+    public int query(GameObject object) {
+        resultCount = 0;
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(itemStamps, 0);
+            stamp = 1;
+        }
+
+        int minColumn = columnOf(object.getX());
+        int maxColumn = columnOf(object.getX() + object.getWidth());
+        int minRow = rowOf(object.getY());
+        int maxRow = rowOf(object.getY() + object.getHeight());
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                for (int entry = cellHeads[row * columns + column]; entry != -1; entry = entryNext[entry]) {
+                    int index = entryItem[entry];
+                    if (itemStamps[index] != stamp) {
+                        itemStamps[index] = stamp;
+                        addResult(index);
+                    }
+                }
+            }
+        }
+        return resultCount;
+    }
+
+    public int getResult(int i) {
+        return results[i];
+    }
+
+    private void addResult(int index) {
+        if (resultCount == results.length) {
+            results = Arrays.copyOf(results, resultCount * 2);
+        }
+
+        // Insertion keeps the results in descending index order; candidate lists are short.
+        int position = resultCount++;
+        while (position > 0 && results[position - 1] < index) {
+            results[position] = results[position - 1];
+            position--;
+        }
+        results[position] = index;
+    }
+
+    private int columnOf(float x) {
+        int column = (int) Math.floor((x - originX) / cellSize);
+        return Math.max(0, Math.min(columns - 1, column));
+    }
+
+    private int rowOf(float y) {
+        int row = (int) Math.floor((y - originY) / cellSize);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+}
@@ -29,23 +29,23 @@ public class Particle {
         this.life = 1.0f;
         this.type = type;
 
+        this.decay = decayFor(type);
+    }
+
+    static float decayFor(ParticleType type) {
         switch (type) {
             case EXPLOSION:
-                this.decay = 0.02f;
-                break;
+                return 0.02f;
             case SPARK:
-                this.decay = 0.03f;
-                break;
+                return 0.03f;
             case SMOKE:
-                this.decay = 0.015f;
-                break;
+                return 0.015f;
             case DEBRIS:
-                this.decay = 0.025f;
-                break;
+                return 0.025f;
             case STAR:
-                this.decay = 0.01f;
-                break;
+                return 0.01f;
         }
+        return 0.02f;
     }
 
     public Particle(float x, float y, float vx, float vy, float[] color, float size) {
@@ -169,10 +169,26 @@ public class Particle {
         return position;
     }
 
+    public Vector2D getVelocity() {
+        return velocity;
+    }
+
+    public float[] getColor() {
+        return color;
+    }
+
+    public float getSize() {
+        return size;
+    }
+
     public float getLife() {
         return life;
     }
 
+    public float getDecay() {
+        return decay;
+    }
+
     public ParticleType getType() {
         return type;
     }
@@ -0,0 +1,62 @@
+package RocketGame.Effects;
+
+import com.sun.opengl.util.BufferUtil;
+
+import javax.media.opengl.GL;
+import java.nio.FloatBuffer;
+
+/**
+ * Interleaved x, y, r, g, b vertex buffer that is filled on the CPU and
+ * sent with a single glDrawArrays call.
+ */
+class ParticleBatch {
+    private static final int FLOATS_PER_VERTEX = 5;
+    private static final int STRIDE = FLOATS_PER_VERTEX * BufferUtil.SIZEOF_FLOAT;
+
+    private final float[] data;
+    private final FloatBuffer vertices;
+    private final FloatBuffer colors;
+    private int floatCount;
+
+    ParticleBatch(int maxVertices) {
+        data = new float[maxVertices * FLOATS_PER_VERTEX];
+        vertices = BufferUtil.newFloatBuffer(data.length);
+
+        FloatBuffer colorView = vertices.duplicate();
+        colorView.position(2);
+        colors = colorView.slice();
+    }
+
+    void clear() {
+        floatCount = 0;
+    }
+
+    void vertex(float x, float y, float r, float g, float b) {
+        int i = floatCount;
+        data[i] = x;
+        data[i + 1] = y;
+        data[i + 2] = r;
+        data[i + 3] = g;
+        data[i + 4] = b;
+        floatCount = i + FLOATS_PER_VERTEX;
+    }
+
+    void draw(GL gl, int mode) {
+        int vertexCount = floatCount / FLOATS_PER_VERTEX;
+        if (vertexCount == 0) return;
+
+        vertices.clear();
+        vertices.put(data, 0, floatCount);
+        vertices.rewind();
+
+        gl.glEnableClientState(GL.GL_VERTEX_ARRAY);
+        gl.glEnableClientState(GL.GL_COLOR_ARRAY);
+        gl.glVertexPointer(2, GL.GL_FLOAT, STRIDE, vertices);
+        gl.glColorPointer(3, GL.GL_FLOAT, STRIDE, colors);
+
+        gl.glDrawArrays(mode, 0, vertexCount);
+
+        gl.glDisableClientState(GL.GL_COLOR_ARRAY);
+        gl.glDisableClientState(GL.GL_VERTEX_ARRAY);
+    }
+}
@@ -1,11 +1,79 @@
 package RocketGame.Effects;
 
-import javax.media.opengl.GL;
-import java.util.ArrayList;
-import java.util.List;
+import RocketGame.Util.Constants;
 
+import javax.media.opengl.GL;
+import java.util.Arrays;
+
+/**
+ * Particles are stored as parallel primitive arrays with a fixed capacity,
+ * so spawning and updating them never allocates. Dead particles are removed
+ * by moving the last live particle into their slot. Rendering packs all
+ * particles into two vertex arrays and draws each with one call.
+ *
+ * The live count is capped by a budget. Once it is reached, a new particle
+ * replaces the oldest particle of the lowest priority class at or below its
+ * own, and is dropped if every live particle outranks it.
+ */
 public class ParticleSystem {
-    private final List<Particle> particles;
+    public enum Priority {
+        LOW,      // engine trails, smoke, background stars
+        NORMAL,   // sparks, debris, pickup bursts
+        HIGH,     // hit flashes and explosions
+        CRITICAL  // boss death
+    }
+
+    private static final int EXPLOSION = Particle.ParticleType.EXPLOSION.ordinal();
+    private static final int SPARK = Particle.ParticleType.SPARK.ordinal();
+    private static final int SMOKE = Particle.ParticleType.SMOKE.ordinal();
+    private static final int DEBRIS = Particle.ParticleType.DEBRIS.ordinal();
+    private static final int STAR = Particle.ParticleType.STAR.ordinal();
+
+    private static final Particle.ParticleType[] TYPES = Particle.ParticleType.values();
+    private static final float[] DECAY = new float[TYPES.length];
+
+    private static final float[][] BOSS_COLORS = {
+            {1.0f, 0.0f, 0.0f},
+            {1.0f, 0.5f, 0.0f},
+            {1.0f, 1.0f, 0.0f},
+            {1.0f, 1.0f, 1.0f}
+    };
+
+    private static final int EXPLOSION_SEGMENTS = 8;
+    private static final int SMOKE_SEGMENTS = 12;
+    private static final float[] EXPLOSION_CIRCLE = unitCircle(EXPLOSION_SEGMENTS);
+    private static final float[] SMOKE_CIRCLE = unitCircle(SMOKE_SEGMENTS);
+
+    static {
+        for (int i = 0; i < TYPES.length; i++) {
+            DECAY[i] = Particle.decayFor(TYPES[i]);
+        }
+    }
+
+    private final int capacity;
+    private int count;
+
+    private final float[] x;
+    private final float[] y;
+    private final float[] vx;
+    private final float[] vy;
+    private final float[] r;
+    private final float[] g;
+    private final float[] b;
+    private final float[] size;
+    private final float[] life;
+    private final float[] decay;
+    private final byte[] type;
+    private final byte[] priorityClass;
+
+    private int budget;
+    private final int[] priorityCounts = new int[Priority.values().length];
+    private long droppedCount;
+    private long evictedCount;
+
+    // Created on first render so the headless runner never touches GL buffers.
+    private ParticleBatch triangles;
+    private ParticleBatch lines;
 
     public void createLargeExplosion(float x, float y, float[] color) {
         createExplosion(x, y, color, 30);
@@ -15,34 +83,259 @@ public class ParticleSystem {
     }
 
     public ParticleSystem() {
-        this.particles = new ArrayList<>();
+        this(Constants.MAX_PARTICLES);
+    }
+
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.vx = new float[capacity];
+        this.vy = new float[capacity];
+        this.r = new float[capacity];
+        this.g = new float[capacity];
+        this.b = new float[capacity];
+        this.size = new float[capacity];
+        this.life = new float[capacity];
+        this.decay = new float[capacity];
+        this.type = new byte[capacity];
+        this.priorityClass = new byte[capacity];
+        this.budget = capacity;
     }
 
     public void update(float deltaTime) {
+        float drag = 0.98f;
+        float gravity = 0.2f * deltaTime;
 
-        for (int i = 0; i < particles.size(); i++) {
-            particles.get(i).update(deltaTime);
-        }
+        for (int i = 0; i < count; i++) {
+            x[i] += vx[i] * deltaTime;
+            y[i] += vy[i] * deltaTime;
+
+            int t = type[i];
+            if (t == DEBRIS || t == SMOKE) {
+                vy[i] += gravity;
+            }
 
+            vx[i] *= drag;
+            vy[i] *= drag;
 
-        for (int i = particles.size() - 1; i >= 0; i--) {
-            if (particles.get(i).isDead()) {
-                particles.remove(i);
+            life[i] -= decay[i];
+
+            if (t == SMOKE) {
+                size[i] += 0.1f;
+            } else {
+                size[i] *= 0.97f;
+            }
+        }
+
+        int i = 0;
+        while (i < count) {
+            if (life[i] <= 0) {
+                removeAt(i);
+            } else {
+                i++;
             }
         }
     }
 
+    // Everything filled goes into one GL_TRIANGLES batch and the star crosses into one
+    // GL_LINES batch. Sparks become thin quads so their width no longer needs glLineWidth.
     public void render(GL gl) {
-        for (int i = 0; i < particles.size(); i++) {
-            particles.get(i).render(gl);
+        if (triangles == null) {
+            triangles = new ParticleBatch(capacity * SMOKE_SEGMENTS * 3);
+            lines = new ParticleBatch(capacity * 4);
+        }
+        triangles.clear();
+        lines.clear();
+
+        for (int i = 0; i < count; i++) {
+            float fadeFactor = life[i];
+            if (fadeFactor <= 0) continue;
+
+            float px = x[i];
+            float py = y[i];
+            float cr = r[i] * fadeFactor;
+            float cg = g[i] * fadeFactor;
+            float cb = b[i] * fadeFactor;
+
+            int t = type[i];
+            if (t == EXPLOSION) {
+                addDisc(px, py, size[i], EXPLOSION_CIRCLE, cr, cg, cb);
+            } else if (t == SPARK) {
+                addSpark(px, py, vx[i], vy[i], size[i], cr, cg, cb);
+            } else if (t == SMOKE) {
+                addDisc(px, py, size[i], SMOKE_CIRCLE, cr, cg, cb);
+            } else if (t == DEBRIS) {
+                float halfSize = size[i] / 2;
+                addQuad(px - halfSize, py - halfSize, px + halfSize, py + halfSize, cr, cg, cb);
+            } else if (t == STAR) {
+                float starSize = size[i];
+                float halfSize = starSize / 2;
+                addQuad(px - halfSize, py - halfSize, px + halfSize, py + halfSize, cr, cg, cb);
+
+                if (fadeFactor > 0.5f) {
+                    lines.vertex(px - starSize, py, cr, cg, cb);
+                    lines.vertex(px + starSize, py, cr, cg, cb);
+                    lines.vertex(px, py - starSize, cr, cg, cb);
+                    lines.vertex(px, py + starSize, cr, cg, cb);
+                }
+            }
+        }
+
+        triangles.draw(gl, GL.GL_TRIANGLES);
+        gl.glLineWidth(1.0f);
+        lines.draw(gl, GL.GL_LINES);
+    }
+
+    private void addDisc(float cx, float cy, float radius, float[] circle, float cr, float cg, float cb) {
+        int segments = circle.length / 2 - 1;
+        for (int k = 0; k < segments; k++) {
+            int j = k * 2;
+            triangles.vertex(cx, cy, cr, cg, cb);
+            triangles.vertex(cx + circle[j] * radius, cy + circle[j + 1] * radius, cr, cg, cb);
+            triangles.vertex(cx + circle[j + 2] * radius, cy + circle[j + 3] * radius, cr, cg, cb);
         }
     }
 
+    private void addQuad(float x0, float y0, float x1, float y1, float cr, float cg, float cb) {
+        triangles.vertex(x0, y0, cr, cg, cb);
+        triangles.vertex(x1, y0, cr, cg, cb);
+        triangles.vertex(x1, y1, cr, cg, cb);
+
+        triangles.vertex(x0, y0, cr, cg, cb);
+        triangles.vertex(x1, y1, cr, cg, cb);
+        triangles.vertex(x0, y1, cr, cg, cb);
+    }
+
+    // The tail runs from the particle back along half its velocity, like the old GL_LINES spark.
+    private void addSpark(float px, float py, float pvx, float pvy, float width, float cr, float cg, float cb) {
+        float dx = -pvx * 0.5f;
+        float dy = -pvy * 0.5f;
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        if (length < 0.0001f) return;
+
+        float halfWidth = width / 2;
+        float nx = -dy / length * halfWidth;
+        float ny = dx / length * halfWidth;
+
+        float tx = px + dx;
+        float ty = py + dy;
+
+        triangles.vertex(px + nx, py + ny, cr, cg, cb);
+        triangles.vertex(px - nx, py - ny, cr, cg, cb);
+        triangles.vertex(tx - nx, ty - ny, cr, cg, cb);
+
+        triangles.vertex(px + nx, py + ny, cr, cg, cb);
+        triangles.vertex(tx - nx, ty - ny, cr, cg, cb);
+        triangles.vertex(tx + nx, ty + ny, cr, cg, cb);
+    }
+
+    // Unit circle as x, y pairs; the first point is repeated at the end to close the fan.
+    private static float[] unitCircle(int segments) {
+        float[] circle = new float[(segments + 1) * 2];
+        for (int k = 0; k <= segments; k++) {
+            double angle = Math.PI * 2 * k / segments;
+            circle[k * 2] = (float) Math.cos(angle);
+            circle[k * 2 + 1] = (float) Math.sin(angle);
+        }
+        return circle;
+    }
+
+    // Copies the particle's current state into the arrays; the Particle object itself is not kept.
     public void addParticle(Particle particle) {
-        particles.add(particle);
+        int i = spawn(particle.getPosition().x, particle.getPosition().y,
+                particle.getVelocity().x, particle.getVelocity().y,
+                particle.getColor(), particle.getSize(), particle.getType().ordinal(), Priority.NORMAL);
+        if (i >= 0) {
+            life[i] = particle.getLife();
+            decay[i] = particle.getDecay();
+        }
+    }
+
+    private int spawn(float px, float py, float pvx, float pvy, float[] color, float psize, int ptype,
+                      Priority ppriority) {
+        return spawn(px, py, pvx, pvy, color[0], color[1], color[2], psize, ptype, ppriority);
+    }
+
+    // Returns the slot used, or -1 when the budget is full and the particle was dropped.
+    private int spawn(float px, float py, float pvx, float pvy,
+                      float pr, float pg, float pb, float psize, int ptype, Priority ppriority) {
+        int rank = ppriority.ordinal();
+        int i;
+        if (count < budget) {
+            i = count++;
+        } else {
+            i = findVictim(rank);
+            if (i < 0) {
+                droppedCount++;
+                return -1;
+            }
+            priorityCounts[priorityClass[i]]--;
+            evictedCount++;
+        }
+
+        x[i] = px;
+        y[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        r[i] = pr;
+        g[i] = pg;
+        b[i] = pb;
+        size[i] = psize;
+        life[i] = 1.0f;
+        decay[i] = DECAY[ptype];
+        type[i] = (byte) ptype;
+        priorityClass[i] = (byte) rank;
+        priorityCounts[rank]++;
+        return i;
+    }
+
+    // Oldest particle of the lowest occupied class, as long as that class does not outrank the newcomer.
+    private int findVictim(int rank) {
+        int victimRank = -1;
+        for (int p = 0; p <= rank; p++) {
+            if (priorityCounts[p] > 0) {
+                victimRank = p;
+                break;
+            }
+        }
+        if (victimRank < 0) return -1;
+
+        int victim = -1;
+        float lowestLife = Float.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            if (priorityClass[i] == victimRank && life[i] < lowestLife) {
+                lowestLife = life[i];
+                victim = i;
+            }
+        }
+        return victim;
+    }
+
+    private void removeAt(int i) {
+        priorityCounts[priorityClass[i]]--;
+        int last = --count;
+        if (i == last) return;
+
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        r[i] = r[last];
+        g[i] = g[last];
+        b[i] = b[last];
+        size[i] = size[last];
+        life[i] = life[last];
+        decay[i] = decay[last];
+        type[i] = type[last];
+        priorityClass[i] = priorityClass[last];
     }
 
     public void createExplosion(float x, float y, float[] color, int count) {
+        createExplosion(x, y, color, count, Priority.HIGH);
+    }
+
+    public void createExplosion(float x, float y, float[] color, int count, Priority priority) {
         for (int i = 0; i < count; i++) {
             double angle = Math.random() * Math.PI * 2;
             float speed = (float) (Math.random() * 5 + 2);
@@ -50,47 +343,52 @@ public class ParticleSystem {
             float vy = (float) Math.sin(angle) * speed;
             float size = (float) (Math.random() * 3 + 2);
 
-            Particle particle = new Particle(x, y, vx, vy, color, size, Particle.ParticleType.EXPLOSION);
-            particles.add(particle);
+            spawn(x, y, vx, vy, color, size, EXPLOSION, priority);
         }
     }
 
     public void createSparks(float x, float y, int count) {
+        createSparks(x, y, count, Priority.NORMAL);
+    }
+
+    public void createSparks(float x, float y, int count, Priority priority) {
         for (int i = 0; i < count; i++) {
             double angle = Math.random() * Math.PI * 2;
             float speed = (float) (Math.random() * 8 + 4);
             float vx = (float) Math.cos(angle) * speed;
             float vy = (float) Math.sin(angle) * speed;
 
-            float[] color = new float[]{
-                    1.0f,
-                    (float) (Math.random() * 0.3 + 0.7),
-                    (float) (Math.random() * 0.3)
-            };
+            float green = (float) (Math.random() * 0.3 + 0.7);
+            float blue = (float) (Math.random() * 0.3);
 
             float size = (float) (Math.random() * 2 + 1);
 
-            Particle particle = new Particle(x, y, vx, vy, color, size, Particle.ParticleType.SPARK);
-            particles.add(particle);
+            spawn(x, y, vx, vy, 1.0f, green, blue, size, SPARK, priority);
         }
     }
 
     public void createSmoke(float x, float y, int count) {
+        createSmoke(x, y, count, Priority.LOW);
+    }
+
+    public void createSmoke(float x, float y, int count, Priority priority) {
         for (int i = 0; i < count; i++) {
             float vx = (float) (Math.random() - 0.5) * 2;
             float vy = (float) (Math.random() - 0.5) * 2;
 
             float gray = (float) (Math.random() * 0.3 + 0.4);
-            float[] color = new float[]{gray, gray, gray};
 
             float size = (float) (Math.random() * 5 + 3);
 
-            Particle particle = new Particle(x, y, vx, vy, color, size, Particle.ParticleType.SMOKE);
-            particles.add(particle);
+            spawn(x, y, vx, vy, gray, gray, gray, size, SMOKE, priority);
         }
     }
 
     public void createDebris(float x, float y, float[] color, int count) {
+        createDebris(x, y, color, count, Priority.NORMAL);
+    }
+
+    public void createDebris(float x, float y, float[] color, int count, Priority priority) {
         for (int i = 0; i < count; i++) {
             double angle = Math.random() * Math.PI * 2;
             float speed = (float) (Math.random() * 4 + 1);
@@ -99,46 +397,33 @@ public class ParticleSystem {
 
             float size = (float) (Math.random() * 4 + 2);
 
-            Particle particle = new Particle(x, y, vx, vy, color, size, Particle.ParticleType.DEBRIS);
-            particles.add(particle);
+            spawn(x, y, vx, vy, color, size, DEBRIS, priority);
         }
     }
 
     public void createHitEffect(float x, float y, float[] color) {
-        createExplosion(x, y, color, 8);
-        createSparks(x, y, 4);
+        createExplosion(x, y, color, 8, Priority.HIGH);
+        createSparks(x, y, 4, Priority.HIGH);
     }
 
 
     public void createBossExplosion(float x, float y) {
-        float[][] colors = {
-                {1.0f, 0.0f, 0.0f},
-                {1.0f, 0.5f, 0.0f},
-                {1.0f, 1.0f, 0.0f},
-                {1.0f, 1.0f, 1.0f}
-        };
-
-        for (int i = 0; i < colors.length; i++) {
-            createExplosion(x, y, colors[i], 40);
+        for (int i = 0; i < BOSS_COLORS.length; i++) {
+            createExplosion(x, y, BOSS_COLORS[i], 40, Priority.CRITICAL);
         }
 
-        createSparks(x, y, 30);
-        createSmoke(x, y, 20);
+        createSparks(x, y, 30, Priority.CRITICAL);
+        createSmoke(x, y, 20, Priority.CRITICAL);
     }
 
     public void createEngineTrail(float x, float y) {
-        float[] color = new float[]{
-                1.0f,
-                (float) (Math.random() * 0.3 + 0.5),
-                0.0f
-        };
+        float green = (float) (Math.random() * 0.3 + 0.5);
 
         float vx = (float) (Math.random() - 0.5) * 1;
         float vy = (float) (Math.random() * 2 + 1);
         float size = (float) (Math.random() * 3 + 2);
 
-        Particle particle = new Particle(x, y, vx, vy, color, size, Particle.ParticleType.EXPLOSION);
-        particles.add(particle);
+        spawn(x, y, vx, vy, 1.0f, green, 0.0f, size, EXPLOSION, Priority.LOW);
     }
 
     public void createStarField(int screenWidth, int screenHeight, int count) {
@@ -148,12 +433,10 @@ public class ParticleSystem {
             float vy = (float) (Math.random() * 2 + 1);
 
             float brightness = (float) (Math.random() * 0.5 + 0.5);
-            float[] color = new float[]{brightness, brightness, brightness};
 
             float size = (float) (Math.random() * 2 + 1);
 
-            Particle particle = new Particle(x, y, 0, vy, color, size, Particle.ParticleType.STAR);
-            particles.add(particle);
+            spawn(x, y, 0, vy, brightness, brightness, brightness, size, STAR, Priority.LOW);
         }
     }
 
@@ -166,20 +449,46 @@ public class ParticleSystem {
 
             float size = (float) (Math.random() * 3 + 2);
 
-            Particle particle = new Particle(x, y, vx, vy, color, size, Particle.ParticleType.SPARK);
-            particles.add(particle);
+            spawn(x, y, vx, vy, color, size, SPARK, Priority.NORMAL);
         }
     }
 
     public void clear() {
-        particles.clear();
+        count = 0;
+        Arrays.fill(priorityCounts, 0);
     }
 
     public int getParticleCount() {
-        return particles.size();
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    // Lowering the budget below the live count only stops growth; nothing is removed early.
+    public void setBudget(int budget) {
+        this.budget = Math.max(0, Math.min(capacity, budget));
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public long getEvictedCount() {
+        return evictedCount;
+    }
+
+    public void resetCounters() {
+        droppedCount = 0;
+        evictedCount = 0;
     }
 
     public boolean isEmpty() {
-        return particles.isEmpty();
+        return count == 0;
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,16 @@
 package RocketGame.Entities;
 
 import javax.media.opengl.GL;
-import com.sun.opengl.util.texture.Texture;
-import com.sun.opengl.util.texture.TextureIO;
-import java.io.File;
-import java.io.IOException;
+import RocketGame.Rendering.Renderable;
+import RocketGame.Rendering.SpriteBatch;
+import RocketGame.Texture.TextureAtlas;
+import RocketGame.Texture.TextureManager;
 import java.util.ArrayList;
 import java.util.List;
 import RocketGame.Util.Vector2D;
+import RocketGame.Util.GameClock;
 
-public class Boss extends GameObject {
+public class Boss extends GameObject implements Renderable {
     private int health;
     private int maxHealth;
     private float speed;
@@ -21,8 +22,10 @@ public class Boss extends GameObject {
     private float targetY;
     private long phaseChangeTime;
 
-    private static Texture bossTexture;
-    private static boolean textureLoaded = false;
+    private final Vector2D[] spawnPoints = { new Vector2D(0, 0), new Vector2D(0, 0), new Vector2D(0, 0) };
+    private final List<Vector2D> spawnPositions = new ArrayList<>(3);
+
+    private static final String TEXTURE_NAME = "37.png";
 
     public enum BossState {
         ENTERING, ATTACKING, DAMAGED, DEFEATED
@@ -37,31 +40,13 @@ public class Boss extends GameObject {
         this.speed = 2.0f;
         this.phase = 1;
         this.direction = 1;
-        this.lastShot = System.currentTimeMillis();
+        this.lastShot = GameClock.currentTimeMillis();
         this.shootInterval = 800;
         this.state = BossState.ENTERING;
         this.targetY = 50;
         this.phaseChangeTime = 0;
 
         this.velocity.set(0, speed);
-
-        if (!textureLoaded) {
-            loadBossTexture();
-        }
-    }
-
-    private void loadBossTexture() {
-        try {
-            File textureFile = new File("Assets/37.png");
-            if (textureFile.exists()) {
-                bossTexture = TextureIO.newTexture(textureFile, true);
-                bossTexture.setTexParameteri(GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR);
-                bossTexture.setTexParameteri(GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
-                textureLoaded = true;
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
     }
 
     @Override
@@ -89,7 +74,7 @@ public class Boss extends GameObject {
                 else if (position.x >= 800 - width) direction = -1;
 
                 updatePhase();
-                if (System.currentTimeMillis() - phaseChangeTime > 200) {
+                if (GameClock.currentTimeMillis() - phaseChangeTime > 200) {
                     state = BossState.ATTACKING;
                 }
                 break;
@@ -112,7 +97,7 @@ public class Boss extends GameObject {
 
     public boolean canShoot() {
         if (state != BossState.ATTACKING) return false;
-        long now = System.currentTimeMillis();
+        long now = GameClock.currentTimeMillis();
         if (now - lastShot >= shootInterval) {
             lastShot = now;
             return true;
@@ -120,21 +105,25 @@ public class Boss extends GameObject {
         return false;
     }
 
+    // The returned list and its vectors are reused on every call; copy them if they need to outlive the volley.
     public List<Vector2D> getBulletSpawnPositions() {
-        List<Vector2D> positions = new ArrayList<>();
-        positions.add(new Vector2D(position.x + width / 2, position.y + height / 2));
+        spawnPositions.clear();
+        spawnPoints[0].set(position.x + width / 2, position.y + height / 2);
+        spawnPositions.add(spawnPoints[0]);
 
         if (phase >= 2) {
-            positions.add(new Vector2D(position.x + width * 0.2f, position.y + height * 0.7f));
-            positions.add(new Vector2D(position.x + width * 0.8f, position.y + height * 0.7f));
+            spawnPoints[1].set(position.x + width * 0.2f, position.y + height * 0.7f);
+            spawnPoints[2].set(position.x + width * 0.8f, position.y + height * 0.7f);
+            spawnPositions.add(spawnPoints[1]);
+            spawnPositions.add(spawnPoints[2]);
         }
-        return positions;
+        return spawnPositions;
     }
 
     public void takeDamage(int amount) {
         health -= amount;
         state = BossState.DAMAGED;
-        phaseChangeTime = System.currentTimeMillis();
+        phaseChangeTime = GameClock.currentTimeMillis();
         if (health <= 0) {
             health = 0;
             state = BossState.DEFEATED;
@@ -142,62 +131,37 @@ public class Boss extends GameObject {
     }
 
     @Override
-    public void render(GL gl) {
+    public void render(GL gl, SpriteBatch batch) {
         if (state == BossState.DEFEATED)return;
 
-        gl.glPushMatrix();
-        gl.glTranslatef(position.x, position.y, 0);
-
-        if (state == BossState.DAMAGED && (System.currentTimeMillis() / 50) % 2 == 0) {
-            gl.glColor3f(1.0f, 0.5f, 0.5f);
-        } else {
-            gl.glColor3f(1.0f, 1.0f, 1.0f);
-        }
-
-        if (textureLoaded && bossTexture != null) {
-            bossTexture.bind();
-            bossTexture.enable();
-            gl.glEnable(GL.GL_TEXTURE_2D);
-            gl.glTexEnvi(GL.GL_TEXTURE_ENV, GL.GL_TEXTURE_ENV_MODE, GL.GL_REPLACE);
-
-            gl.glBegin(GL.GL_QUADS);
-            gl.glTexCoord2f(0.0f, 0.0f); gl.glVertex2f(0, 0);
-            gl.glTexCoord2f(1.0f, 0.0f); gl.glVertex2f(width, 0);
-            gl.glTexCoord2f(1.0f, 1.0f); gl.glVertex2f(width, height);
-            gl.glTexCoord2f(0.0f, 1.0f); gl.glVertex2f(0, height);
-            gl.glEnd();
-
-            bossTexture.disable();
-            gl.glDisable(GL.GL_TEXTURE_2D);
+        TextureAtlas.Region region = TextureManager.getInstance().getRegion(gl, TEXTURE_NAME);
+        if (region != null) {
+            batch.quad(SpriteBatch.LAYER_BOSS, region.texture, SpriteBatch.BLEND_ALPHA,
+                    position.x, position.y, width, height,
+                    region.u0, region.v0, region.u1, region.v1, 1, 1, 1, 1);
         } else {
+            gl.glPushMatrix();
+            gl.glTranslatef(position.x, position.y, 0);
             gl.glColor3f(0.8f, 0.4f, 0.0f);
             drawCircle(gl, width/2, height/2, width/2);
+            gl.glPopMatrix();
         }
 
-        drawBossHealthBar(gl);
-        gl.glPopMatrix();
+        drawBossHealthBar(batch);
     }
 
-    private void drawBossHealthBar(GL gl) {
+    private void drawBossHealthBar(SpriteBatch batch) {
         float barWidth = 400;
         float barHeight = 15;
-        float barX = -position.x + (800 - barWidth) / 2;
-        float barY = -position.y + 20;
-
-
-        gl.glColor3f(0.3f, 0.0f, 0.0f);
-        gl.glBegin(GL.GL_QUADS);
-        gl.glVertex2f(barX, barY); gl.glVertex2f(barX + barWidth, barY);
-        gl.glVertex2f(barX + barWidth, barY + barHeight); gl.glVertex2f(barX, barY + barHeight);
-        gl.glEnd();
+        float barX = (800 - barWidth) / 2;
+        float barY = 20;
 
+        batch.quad(SpriteBatch.LAYER_OVERLAY, SpriteBatch.BLEND_OPAQUE,
+                barX, barY, barWidth, barHeight, 0.3f, 0.0f, 0.0f, 1.0f);
 
         float healthPercent = (float) health / maxHealth;
-        gl.glColor3f(1.0f - healthPercent, healthPercent, 0.0f);
-        gl.glBegin(GL.GL_QUADS);
-        gl.glVertex2f(barX, barY); gl.glVertex2f(barX + barWidth * healthPercent, barY);
-        gl.glVertex2f(barX + barWidth * healthPercent, barY + barHeight); gl.glVertex2f(barX, barY + barHeight);
-        gl.glEnd();
+        batch.quad(SpriteBatch.LAYER_OVERLAY, SpriteBatch.BLEND_OPAQUE,
+                barX, barY, barWidth * healthPercent, barHeight, 1.0f - healthPercent, healthPercent, 0.0f, 1.0f);
     }
 
     private void drawCircle(GL gl, float cx, float cy, float r) {
@@ -1,23 +1,23 @@
 package RocketGame.Entities;
 
 import javax.media.opengl.GL;
-import com.sun.opengl.util.texture.Texture;
-import com.sun.opengl.util.texture.TextureIO;
-import java.io.File;
-import java.io.IOException;
+import RocketGame.Rendering.Renderable;
+import RocketGame.Rendering.SpriteBatch;
+import RocketGame.Texture.TextureAtlas;
+import RocketGame.Texture.TextureManager;
 import RocketGame.Util.Constants;
 
-public class Bullet extends GameObject {
+public class Bullet extends GameObject implements Renderable {
     private int damage;
     private float speed;
     private boolean fromEnemy;
     private String bulletType;
-    private float[] color;
+    private final float[] color = new float[3];
 
-    private static Texture planetBulletTexture;
-    private static boolean textureLoaded = false;
+    private static final String PLANET_TEXTURE_NAME = "planet5.png";
 
     private int playerNumber = 1;
+    boolean pooled;
 
     public void setPlayerNumber(int playerNumber) {
         this.playerNumber = playerNumber;
@@ -27,71 +27,98 @@ public class Bullet extends GameObject {
         return playerNumber;
     }
 
+    Bullet() {
+        super(0, 0, Constants.BULLET_WIDTH, Constants.BULLET_HEIGHT);
+    }
+
     public Bullet(float x, float y, int damage, boolean isEnemyBullet, String type) {
         super(x, y, 30, 30);
+        reset(x, y, damage, isEnemyBullet, type);
+    }
+
+    public Bullet(float x, float y, int damage, String bulletType) {
+        super(x, y, Constants.BULLET_WIDTH, Constants.BULLET_HEIGHT);
+        reset(x, y, damage, bulletType);
+    }
+
+    public Bullet(float x, float y, int damage, boolean isEnemyBullet) {
+        super(x, y, Constants.BULLET_WIDTH, Constants.BULLET_HEIGHT);
+        reset(x, y, damage, isEnemyBullet);
+    }
+
+    public Bullet(float x, float y, int damage, float angle) {
+        super(x, y, Constants.BULLET_WIDTH, Constants.BULLET_HEIGHT);
+        reset(x, y, damage, angle);
+    }
+
+    // The reset methods mirror the constructors so BulletPool can recycle instances.
+
+    public void reset(float x, float y, int damage, boolean isEnemyBullet, String type) {
+        resetCommon(x, y, damage, 30, 30);
 
-        this.damage = damage;
         this.speed = Constants.BULLET_SPEED * 0.6f;
         this.fromEnemy = isEnemyBullet;
         this.bulletType = type;
 
         if (bulletType.equals("planet")) {
-            this.color = new float[]{1.0f, 1.0f, 1.0f};
-            this.velocity.set(0, speed);
-
-            if (!textureLoaded) loadPlanetTexture();
+            setColor(1.0f, 1.0f, 1.0f);
         } else {
-            this.color = new float[]{1.0f, 0.0f, 0.0f};
-            this.velocity.set(0, speed);
+            setColor(1.0f, 0.0f, 0.0f);
         }
+        this.velocity.set(0, speed);
     }
 
-    public Bullet(float x, float y, int damage, String bulletType) {
-        super(x, y, Constants.BULLET_WIDTH, Constants.BULLET_HEIGHT);
-        this.damage = damage;
+    public void reset(float x, float y, int damage, String bulletType) {
+        resetCommon(x, y, damage, Constants.BULLET_WIDTH, Constants.BULLET_HEIGHT);
+
         this.speed = Constants.BULLET_SPEED;
         this.fromEnemy = false;
         this.bulletType = bulletType;
 
-
         if (bulletType.equals("laser")) {
-            this.color = new float[]{0.0f, 1.0f, 1.0f}; // Cyan
+            setColor(0.0f, 1.0f, 1.0f); // Cyan
             this.width = 4;
             this.height = 30;
         } else {
-            this.color = new float[]{0.0f, 1.0f, 0.0f}; // Green
+            setColor(0.0f, 1.0f, 0.0f); // Green
         }
 
         this.velocity.set(0, -speed);
     }
 
-    public Bullet(float x, float y, int damage, boolean isEnemyBullet) {
-        this(x, y, damage, isEnemyBullet, "normal");
+    public void reset(float x, float y, int damage, boolean isEnemyBullet) {
+        reset(x, y, damage, isEnemyBullet, "normal");
         this.width = Constants.BULLET_WIDTH;
         this.height = Constants.BULLET_HEIGHT;
     }
-    public Bullet(float x, float y, int damage, float angle) {
-        super(x, y, Constants.BULLET_WIDTH, Constants.BULLET_HEIGHT);
 
-        this.damage = damage;
+    public void reset(float x, float y, int damage, float angle) {
+        resetCommon(x, y, damage, Constants.BULLET_WIDTH, Constants.BULLET_HEIGHT);
+
         this.speed = Constants.BULLET_SPEED;
         this.fromEnemy = false;
         this.bulletType = "spread";
-        this.color = new float[]{0.0f, 1.0f, 0.0f}; // Green
+        setColor(0.0f, 1.0f, 0.0f); // Green
 
         float radians = (float) Math.toRadians(angle);
         velocity.set((float) Math.sin(radians) * speed,
                 -(float) Math.cos(radians) * speed);
     }
 
-    private void loadPlanetTexture() {
-        try {
-            File f = new File("Assets/planet5.png");
-            if(f.exists()) {
-                planetBulletTexture = TextureIO.newTexture(f, true);
-                textureLoaded = true;
-            }
-        } catch (Exception e) { e.printStackTrace(); }
+    private void resetCommon(float x, float y, int damage, float width, float height) {
+        position.set(x, y);
+        previousPosition.set(x, y);
+        this.width = width;
+        this.height = height;
+        this.damage = damage;
+        this.playerNumber = 1;
+        this.active = true;
+    }
+
+    private void setColor(float r, float g, float b) {
+        color[0] = r;
+        color[1] = g;
+        color[2] = b;
     }
 
     @Override
@@ -101,43 +128,20 @@ public class Bullet extends GameObject {
     }
 
     @Override
-    public void render(GL gl) {
-        gl.glPushMatrix();
-        gl.glTranslatef(position.x, position.y, 0);
-
-        if ("planet".equals(bulletType) && textureLoaded) {
-            planetBulletTexture.bind();
-            planetBulletTexture.enable();
-            gl.glEnable(GL.GL_TEXTURE_2D);
-            gl.glTexEnvi(GL.GL_TEXTURE_ENV, GL.GL_TEXTURE_ENV_MODE, GL.GL_REPLACE);
-
-            gl.glColor3f(1,1,1);
-            gl.glBegin(GL.GL_QUADS);
-            gl.glTexCoord2f(0, 0); gl.glVertex2f(0, 0);
-            gl.glTexCoord2f(1, 0); gl.glVertex2f(width, 0);
-            gl.glTexCoord2f(1, 1); gl.glVertex2f(width, height);
-            gl.glTexCoord2f(0, 1); gl.glVertex2f(0, height);
-            gl.glEnd();
-
-            planetBulletTexture.disable();
-            gl.glDisable(GL.GL_TEXTURE_2D);
-        } else {
-            gl.glColor3f(color[0], color[1], color[2]);
-
-            if (bulletType.equals("laser")) {
-                gl.glBegin(GL.GL_QUADS);
-                gl.glVertex2f(0, 0); gl.glVertex2f(width, 0);
-                gl.glVertex2f(width, height); gl.glVertex2f(0, height);
-                gl.glEnd();
-            } else {
-                gl.glBegin(GL.GL_QUADS);
-                gl.glVertex2f(0, 0); gl.glVertex2f(width, 0);
-                gl.glVertex2f(width, height); gl.glVertex2f(0, height);
-                gl.glEnd();
-            }
+    public void render(GL gl, SpriteBatch batch) {
+        TextureAtlas.Region region = null;
+        if ("planet".equals(bulletType)) {
+            region = TextureManager.getInstance().getRegion(gl, PLANET_TEXTURE_NAME);
         }
 
-        gl.glPopMatrix();
+        if (region != null) {
+            batch.quad(SpriteBatch.LAYER_BULLETS, region.texture, SpriteBatch.BLEND_ALPHA,
+                    position.x, position.y, width, height,
+                    region.u0, region.v0, region.u1, region.v1, 1, 1, 1, 1);
+        } else {
+            batch.quad(SpriteBatch.LAYER_BULLETS, SpriteBatch.BLEND_OPAQUE,
+                    position.x, position.y, width, height, color[0], color[1], color[2], 1.0f);
+        }
     }
 
     public boolean isOffScreen(int sw, int sh) {
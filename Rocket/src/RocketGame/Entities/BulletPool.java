@@ -0,0 +1,72 @@
+package RocketGame.Entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recycles Bullet instances so weapons fire does not allocate once the
+ * pool has warmed up. Bullets come back through release() when GameState
+ * drops them from its bullet list.
+ */
+public class BulletPool {
+    private final ArrayList<Bullet> free = new ArrayList<>();
+    private int createdCount;
+
+    public Bullet obtain(float x, float y, int damage, String bulletType) {
+        Bullet bullet = take();
+        bullet.reset(x, y, damage, bulletType);
+        return bullet;
+    }
+
+    public Bullet obtainSpread(float x, float y, int damage, float angle) {
+        Bullet bullet = take();
+        bullet.reset(x, y, damage, angle);
+        return bullet;
+    }
+
+    public Bullet obtainEnemy(float x, float y, int damage) {
+        Bullet bullet = take();
+        bullet.reset(x, y, damage, true);
+        return bullet;
+    }
+
+    public Bullet obtainPlanet(float x, float y, int damage) {
+        Bullet bullet = take();
+        bullet.reset(x, y, damage, true, "planet");
+        return bullet;
+    }
+
+    public void release(Bullet bullet) {
+        if (bullet.pooled) return;
+
+        bullet.pooled = true;
+        bullet.destroy();
+        free.add(bullet);
+    }
+
+    public void releaseAll(List<Bullet> bullets) {
+        for (int i = 0; i < bullets.size(); i++) {
+            release(bullets.get(i));
+        }
+    }
+
+    private Bullet take() {
+        int last = free.size() - 1;
+        if (last < 0) {
+            createdCount++;
+            return new Bullet();
+        }
+
+        Bullet bullet = free.remove(last);
+        bullet.pooled = false;
+        return bullet;
+    }
+
+    public int getFreeCount() {
+        return free.size();
+    }
+
+    public int getCreatedCount() {
+        return createdCount;
+    }
+}
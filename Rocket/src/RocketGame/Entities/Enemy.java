@@ -1,9 +1,13 @@
 package RocketGame.Entities;
 
 import javax.media.opengl.GL;
+import RocketGame.Rendering.Renderable;
+import RocketGame.Rendering.ShapeCache;
+import RocketGame.Rendering.SpriteBatch;
 import RocketGame.Util.Vector2D;
+import RocketGame.Util.GameClock;
 
-public class Enemy extends GameObject {
+public class Enemy extends GameObject implements Renderable {
     private int health;
     private int maxHealth;
     private float speed;
@@ -13,6 +17,10 @@ public class Enemy extends GameObject {
     private float direction;
     private float[] color;
 
+    // Body geometry and colours only depend on type and size, so they are compiled once into a display list.
+    private final String shapeKey;
+    private ShapeCache.Shape shape;
+
     public enum EnemyType {
         BASIC,
         ZIGZAG,
@@ -26,7 +34,7 @@ public class Enemy extends GameObject {
 
         this.speed = speed;
         this.type = type;
-        this.lastShot = System.currentTimeMillis();
+        this.lastShot = GameClock.currentTimeMillis();
         this.direction = Math.random() < 0.5 ? -1 : 1;
 
         switch (type) {
@@ -59,6 +67,8 @@ public class Enemy extends GameObject {
                 this.velocity.set(0, speed * 1.5f);
                 break;
         }
+
+        this.shapeKey = "enemy:" + type + ":" + (int) width + "x" + (int) height;
     }
 
     @Override
@@ -90,7 +100,7 @@ public class Enemy extends GameObject {
         if (type != EnemyType.SHOOTER) {
             return false;
         }
-        long now = System.currentTimeMillis();
+        long now = GameClock.currentTimeMillis();
         if (now - lastShot >= shootInterval) {
             lastShot = now;
             return true;
@@ -99,10 +109,26 @@ public class Enemy extends GameObject {
     }
 
     @Override
-    public void render(GL gl) {
+    public void render(GL gl, SpriteBatch batch) {
         gl.glPushMatrix();
         gl.glTranslatef(position.x, position.y, 0);
 
+        if (shape == null) {
+            shape = this::drawBody;
+        }
+        ShapeCache.getInstance().draw(gl, shapeKey, shape);
+        if (type == EnemyType.SHOOTER) {
+            drawShooterLight(gl);
+        }
+
+        if (health < maxHealth) {
+            drawHealthBar(gl);
+        }
+
+        gl.glPopMatrix();
+    }
+
+    private void drawBody(GL gl) {
         switch (type) {
             case BASIC:
                 drawBasicEnemy(gl);
@@ -117,12 +143,6 @@ public class Enemy extends GameObject {
                 drawKamikazeEnemy(gl);
                 break;
         }
-
-        if (health < maxHealth) {
-            drawHealthBar(gl);
-        }
-
-        gl.glPopMatrix();
     }
 
     private void drawBasicEnemy(GL gl) {
@@ -197,7 +217,10 @@ public class Enemy extends GameObject {
         gl.glVertex2f(width * 0.6f, height);
         gl.glVertex2f(width * 0.4f, height);
         gl.glEnd();
+    }
 
+    // Blinks, so it stays outside the cached list.
+    private void drawShooterLight(GL gl) {
         long blink = System.currentTimeMillis() / 300;
         if (blink % 2 == 0) {
             gl.glColor3f(1.0f, 0.0f, 0.0f);
@@ -1,9 +1,11 @@
 package RocketGame.Entities;
-import javax.media.opengl.*;
 import RocketGame.Util.Vector2D;
 
+// Simulation-only base class: no GL types here so the core can run without a display.
+// Drawing lives in RocketGame.Rendering.Renderable, implemented by each entity.
 public abstract class GameObject {
     protected Vector2D position;
+    protected Vector2D previousPosition;
     protected Vector2D velocity;
     protected float width;
     protected float height;
@@ -11,6 +13,7 @@ public abstract class GameObject {
 
     public GameObject(float x, float y, float width, float height) {
         this.position = new Vector2D(x, y);
+        this.previousPosition = new Vector2D(x, y);
         this.velocity = new Vector2D(0, 0);
         this.width = width;
         this.height = height;
@@ -19,7 +22,6 @@ public abstract class GameObject {
 
 
     public abstract void update(float deltaTime);
-    public abstract void render(GL gl);
 
 
     public boolean collidesWith(GameObject object) {
@@ -37,6 +39,12 @@ public abstract class GameObject {
     }
 
 
+    public void savePreviousPosition() { previousPosition.set(position.x, position.y); }
+
+    // Position blended between the last two simulation ticks, used only for drawing.
+    public float getInterpolatedX(float alpha) { return previousPosition.x + (position.x - previousPosition.x) * alpha; }
+    public float getInterpolatedY(float alpha) { return previousPosition.y + (position.y - previousPosition.y) * alpha; }
+
     public Vector2D getPosition() { return position; }
     public void setPosition(float x, float y) { position.set(x, y); }
 
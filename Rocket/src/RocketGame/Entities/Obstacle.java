@@ -1,22 +1,36 @@
 package RocketGame.Entities;
 
 import javax.media.opengl.GL;
-import com.sun.opengl.util.texture.Texture;
-import com.sun.opengl.util.texture.TextureIO;
-import java.io.File;
-import java.io.IOException;
-import java.util.HashMap;
+import RocketGame.Rendering.Renderable;
+import RocketGame.Rendering.ShapeCache;
+import RocketGame.Rendering.SpriteBatch;
+import RocketGame.Texture.TextureAtlas;
+import RocketGame.Texture.TextureManager;
 
-public class Obstacle extends GameObject {
+public class Obstacle extends GameObject implements Renderable {
     private int health;
     private int maxHealth;
     private float[] color;
     private ObstacleType type;
-    private float rotation;
 
-    private static HashMap<String, Texture> planetTextures = new HashMap<>();
-    private static boolean texturesLoaded = false;
-    private Texture currentTexture;
+    private static final String[] PLANET_FILES = {
+            "planet6.png",
+            "planet1.png",
+            "planet2.png",
+            "planet3.png",
+            "planet4.png",
+            "planet5.png",
+            "planet7.png",
+    };
+
+    private String planetName;
+
+    // Backup shapes are built in a unit square and scaled, so one list per type covers every size.
+    // The callback is created on first render so headless runs never load GL classes.
+    private static final String[] BACKUP_SHAPE_KEYS = {
+            "obstacle:ASTEROID", "obstacle:METEOR", "obstacle:DEBRIS"
+    };
+    private ShapeCache.Shape backupShape;
 
     public enum ObstacleType {
         ASTEROID,
@@ -48,11 +62,6 @@ public class Obstacle extends GameObject {
         }
 
 
-        if (!texturesLoaded) {
-            loadPlanetTextures();
-        }
-
-
         selectPlanetTexture();
     }
 
@@ -62,53 +71,11 @@ public class Obstacle extends GameObject {
         position.y += velocity.y;
     }
 
-    private static void loadPlanetTextures() {
-        try {
-            String[] planetFiles = {
-                    "planet6.png",
-                    "planet1.png",
-                    "planet2.png",
-                    "planet3.png",
-                    "planet4.png",
-                    "planet5.png",
-                    "planet7.png",
-            };
-
-            for (String fileName : planetFiles) {
-                String texturePath = "Assets/" + fileName;
-                File textureFile = new File(texturePath);
-
-                if (textureFile.exists()) {
-                    Texture texture = TextureIO.newTexture(textureFile, true);
-                    texture.setTexParameteri(GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR);
-                    texture.setTexParameteri(GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
-                    planetTextures.put(fileName, texture);
-                    System.out.println("Loaded planet texture: " + fileName);
-                } else {
-                    System.err.println("Planet texture not found: " + texturePath);
-                }
-            }
-
-            texturesLoaded = true;
-            System.out.println("Total planet textures loaded: " + planetTextures.size());
-
-        } catch (IOException e) {
-            System.err.println("Error loading planet textures: " + e.getMessage());
-        }
-    }
-
     private void selectPlanetTexture() {
-        if (planetTextures.isEmpty()) {
-            currentTexture = null;
-            return;
-        }
-
-        String[] keys = planetTextures.keySet().toArray(new String[0]);
-        int randomIndex = (int) (Math.random() * keys.length);
-        String selectedKey = keys[randomIndex];
-        currentTexture = planetTextures.get(selectedKey);
+        int randomIndex = (int) (Math.random() * PLANET_FILES.length);
+        planetName = PLANET_FILES[randomIndex];
 
-        adjustColorByPlanet(selectedKey);
+        adjustColorByPlanet(planetName);
     }
 
     private void adjustColorByPlanet(String planetName) {
@@ -140,63 +107,42 @@ public class Obstacle extends GameObject {
     }
 
     @Override
-    public void render(GL gl) {
-        gl.glPushMatrix();
-        gl.glTranslatef(position.x, position.y, 0);
+    public void render(GL gl, SpriteBatch batch) {
+        TextureAtlas.Region region = TextureManager.getInstance().getRegion(gl, planetName);
+
+        boolean textured = region != null;
+        if (textured) {
+            batch.disc(SpriteBatch.LAYER_OBSTACLES, region.texture, SpriteBatch.BLEND_ALPHA,
+                    position.x + width / 2, position.y + height / 2, Math.min(width, height) / 2,
+                    region.u0, region.v0, region.u1, region.v1, 1, 1, 1, 1);
+        }
 
-        if (currentTexture != null && texturesLoaded) {
-            drawPlanetWithTexture(gl);
-            gl.glTranslatef(position.x + width/2, position.y + height/2, 0);
-            gl.glRotatef(rotation, 0, 0, 1);
-            gl.glTranslatef(-width/2, -height/2, 0);
-        } else {
+        if (!textured) {
+            gl.glPushMatrix();
+            gl.glTranslatef(position.x, position.y, 0);
             drawBackupShape(gl);
+            gl.glPopMatrix();
         }
 
         if (health < maxHealth) {
-            drawHealthBar(gl);
+            drawHealthBar(batch);
         }
-
-        gl.glPopMatrix();
     }
 
-    private void drawPlanetWithTexture(GL gl) {
-        currentTexture.bind();
-        currentTexture.enable();
-
-        gl.glEnable(GL.GL_TEXTURE_2D);
-        gl.glTexEnvi(GL.GL_TEXTURE_ENV, GL.GL_TEXTURE_ENV_MODE, GL.GL_REPLACE);
-
+    private void drawBackupShape(GL gl) {
         gl.glColor3f(color[0], color[1], color[2]);
 
-
-        drawTexturedCircle(gl, width / 2, height / 2, Math.min(width, height) / 2);
-
-        currentTexture.disable();
-        gl.glDisable(GL.GL_TEXTURE_2D);
-    }
-
-    private void drawTexturedCircle(GL gl, float cx, float cy, float radius) {
-        int segments = 32;
-        gl.glBegin(GL.GL_TRIANGLE_FAN);
-        gl.glTexCoord2f(0.5f, 0.5f);
-        gl.glVertex2f(cx, cy);
-
-        for (int i = 0; i <= segments; i++) {
-            double angle = 2.0 * Math.PI * i / segments;
-            float tx = (float) (0.5 + 0.5 * Math.cos(angle));
-            float ty = (float) (0.5 + 0.5 * Math.sin(angle));
-
-            float x = cx + radius * (float) Math.cos(angle);
-            float y = cy + radius * (float) Math.sin(angle);
-
-            gl.glTexCoord2f(tx, ty);
-            gl.glVertex2f(x, y);
+        if (backupShape == null) {
+            backupShape = this::drawUnitShape;
         }
-        gl.glEnd();
+
+        gl.glPushMatrix();
+        gl.glScalef(width, height, 1);
+        ShapeCache.getInstance().draw(gl, BACKUP_SHAPE_KEYS[type.ordinal()], backupShape);
+        gl.glPopMatrix();
     }
 
-    private void drawBackupShape(GL gl) {
+    private void drawUnitShape(GL gl) {
         switch (type) {
             case ASTEROID:
                 drawAsteroid(gl);
@@ -210,72 +156,59 @@ public class Obstacle extends GameObject {
         }
     }
 
-    private void drawAsteroid(GL gl) {
-        gl.glColor3f(color[0], color[1], color[2]);
-
+    private static void drawAsteroid(GL gl) {
         gl.glBegin(GL.GL_POLYGON);
-        gl.glVertex2f(width * 0.2f, 0);
-        gl.glVertex2f(width * 0.8f, 0);
-        gl.glVertex2f(width, height * 0.3f);
-        gl.glVertex2f(width * 0.9f, height);
-        gl.glVertex2f(width * 0.1f, height);
-        gl.glVertex2f(0, height * 0.4f);
+        gl.glVertex2f(0.2f, 0);
+        gl.glVertex2f(0.8f, 0);
+        gl.glVertex2f(1, 0.3f);
+        gl.glVertex2f(0.9f, 1);
+        gl.glVertex2f(0.1f, 1);
+        gl.glVertex2f(0, 0.4f);
         gl.glEnd();
     }
 
-    private void drawMeteor(GL gl) {
-        gl.glColor3f(color[0], color[1], color[2]);
-
+    private static void drawMeteor(GL gl) {
         gl.glBegin(GL.GL_POLYGON);
-        gl.glVertex2f(width * 0.5f, 0);
-        gl.glVertex2f(width, height * 0.4f);
-        gl.glVertex2f(width * 0.7f, height);
-        gl.glVertex2f(width * 0.3f, height);
-        gl.glVertex2f(0, height * 0.4f);
+        gl.glVertex2f(0.5f, 0);
+        gl.glVertex2f(1, 0.4f);
+        gl.glVertex2f(0.7f, 1);
+        gl.glVertex2f(0.3f, 1);
+        gl.glVertex2f(0, 0.4f);
         gl.glEnd();
     }
 
-    private void drawDebris(GL gl) {
-        gl.glColor3f(color[0], color[1], color[2]);
-
+    private static void drawDebris(GL gl) {
         gl.glBegin(GL.GL_QUADS);
         gl.glVertex2f(0, 0);
-        gl.glVertex2f(width, 0);
-        gl.glVertex2f(width, height);
-        gl.glVertex2f(0, height);
+        gl.glVertex2f(1, 0);
+        gl.glVertex2f(1, 1);
+        gl.glVertex2f(0, 1);
         gl.glEnd();
     }
 
-    private void drawHealthBar(GL gl) {
+    // Batched on its own layer so a neighbouring planet drawn later cannot cover it.
+    private void drawHealthBar(SpriteBatch batch) {
         float barWidth = width;
         float barHeight = 4;
-        float barY = -8;
+        float barX = position.x;
+        float barY = position.y - 8;
 
-        gl.glColor3f(0.8f, 0.1f, 0.1f);
-        gl.glBegin(GL.GL_QUADS);
-        gl.glVertex2f(0, barY);
-        gl.glVertex2f(barWidth, barY);
-        gl.glVertex2f(barWidth, barY + barHeight);
-        gl.glVertex2f(0, barY + barHeight);
-        gl.glEnd();
+        batch.quad(SpriteBatch.LAYER_OBSTACLE_BARS, SpriteBatch.BLEND_OPAQUE,
+                barX, barY, barWidth, barHeight, 0.8f, 0.1f, 0.1f, 1.0f);
 
         float healthWidth = barWidth * ((float) health / maxHealth);
-        gl.glColor3f(0.1f, 0.8f, 0.1f);
-        gl.glBegin(GL.GL_QUADS);
-        gl.glVertex2f(0, barY);
-        gl.glVertex2f(healthWidth, barY);
-        gl.glVertex2f(healthWidth, barY + barHeight);
-        gl.glVertex2f(0, barY + barHeight);
-        gl.glEnd();
-
-        gl.glColor3f(1.0f, 1.0f, 1.0f);
-        gl.glLineWidth(1.0f);
-        gl.glBegin(GL.GL_LINE_LOOP);
-        gl.glVertex2f(0, barY);
-        gl.glVertex2f(barWidth, barY);
-        gl.glVertex2f(barWidth, barY + barHeight);
-        gl.glVertex2f(0, barY + barHeight);
-        gl.glEnd();
+        batch.quad(SpriteBatch.LAYER_OBSTACLE_BARS, SpriteBatch.BLEND_OPAQUE,
+                barX, barY, healthWidth, barHeight, 0.1f, 0.8f, 0.1f, 1.0f);
+
+        // One-pixel outline, as the old GL_LINE_LOOP
+        batch.quad(SpriteBatch.LAYER_OBSTACLE_BARS, SpriteBatch.BLEND_OPAQUE,
+                barX, barY, barWidth, 1, 1.0f, 1.0f, 1.0f, 1.0f);
+        batch.quad(SpriteBatch.LAYER_OBSTACLE_BARS, SpriteBatch.BLEND_OPAQUE,
+                barX, barY + barHeight - 1, barWidth, 1, 1.0f, 1.0f, 1.0f, 1.0f);
+        batch.quad(SpriteBatch.LAYER_OBSTACLE_BARS, SpriteBatch.BLEND_OPAQUE,
+                barX, barY, 1, barHeight, 1.0f, 1.0f, 1.0f, 1.0f);
+        batch.quad(SpriteBatch.LAYER_OBSTACLE_BARS, SpriteBatch.BLEND_OPAQUE,
+                barX + barWidth - 1, barY, 1, barHeight, 1.0f, 1.0f, 1.0f, 1.0f);
     }
 
     public void takeDamage(int amount) {
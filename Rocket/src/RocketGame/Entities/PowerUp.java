@@ -1,15 +1,23 @@
 package RocketGame.Entities;
 
 import javax.media.opengl.GL;
+import RocketGame.Rendering.Renderable;
+import RocketGame.Rendering.ShapeCache;
+import RocketGame.Rendering.SpriteBatch;
 import RocketGame.Util.Vector2D;
+import RocketGame.Util.GameClock;
 
-public class PowerUp extends GameObject {
+public class PowerUp extends GameObject implements Renderable {
     private PowerupType type;
     private float speed;
     private float rotation;
     private float pulse;
     private long spawnTime;
 
+    // Every icon has a fixed size, so each type is one display list; only the transform changes per frame.
+    private final String shapeKey;
+    private ShapeCache.Shape shape;
+
     // Powerup types
     public enum PowerupType {
         HEALTH,
@@ -26,11 +34,12 @@ public class PowerUp extends GameObject {
         super(x, y, 30, 30);
 
         this.type = type;
+        this.shapeKey = "powerup:" + type;
         this.speed = 2.0f;
         this.velocity.set(0, speed);
         this.rotation = 0;
         this.pulse = 1.0f;
-        this.spawnTime = System.currentTimeMillis();
+        this.spawnTime = GameClock.currentTimeMillis();
     }
 
     public PowerUp(float x, float y) {
@@ -51,12 +60,12 @@ public class PowerUp extends GameObject {
             rotation -= 360;
         }
 
-        long time = System.currentTimeMillis() - spawnTime;
+        long time = GameClock.currentTimeMillis() - spawnTime;
         pulse = 1.0f + (float) Math.sin(time / 200.0) * 0.2f;
     }
 
     @Override
-    public void render(GL gl) {
+    public void render(GL gl, SpriteBatch batch) {
         gl.glPushMatrix();
 
         gl.glDisable(GL.GL_TEXTURE_2D);
@@ -67,6 +76,17 @@ public class PowerUp extends GameObject {
 
         gl.glScalef(pulse, pulse, 1.0f);
 
+        if (shape == null) {
+            shape = this::drawIcon;
+        }
+        ShapeCache.getInstance().draw(gl, shapeKey, shape);
+
+        gl.glEnable(GL.GL_TEXTURE_2D);
+
+        gl.glPopMatrix();
+    }
+
+    private void drawIcon(GL gl) {
         switch (type) {
             case HEALTH:
                 drawHealth(gl);
@@ -90,10 +110,6 @@ public class PowerUp extends GameObject {
                 drawExtraLife(gl);
                 break;
         }
-
-        gl.glEnable(GL.GL_TEXTURE_2D);
-
-        gl.glPopMatrix();
     }
 
     private void drawHealth(GL gl) {
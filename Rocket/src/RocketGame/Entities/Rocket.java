@@ -1,15 +1,16 @@
 package RocketGame.Entities;
 
 import javax.media.opengl.GL;
-import com.sun.opengl.util.texture.Texture;
-import com.sun.opengl.util.texture.TextureIO;
-import java.io.File;
-import java.io.IOException;
+import RocketGame.Rendering.Renderable;
+import RocketGame.Rendering.SpriteBatch;
+import RocketGame.Texture.TextureAtlas;
+import RocketGame.Texture.TextureManager;
 
 import RocketGame.Util.Constants;
+import RocketGame.Util.GameClock;
 import RocketGame.Util.Vector2D;
 
-public class Rocket extends GameObject {
+public class Rocket extends GameObject implements Renderable {
     private int health;
     private final int maxHealth;
     private int shield;
@@ -21,10 +22,7 @@ public class Rocket extends GameObject {
     private int damage;
     private long invincibleUntil;
 
-    private Texture rocketTexture;
-    private boolean textureLoaded;
-
-    private String texturePath = "Assets/s2.png";
+    private String textureName;
 
     public Rocket(float x, float y) {
         super(x, y, Constants.ROCKET_WIDTH, Constants.ROCKET_HEIGHT);
@@ -40,13 +38,11 @@ public class Rocket extends GameObject {
         this.damage = 1;
         this.invincibleUntil = 0;
 
-        this.textureLoaded = false;
-        this.rocketTexture = null;
-        this.texturePath = "Assets/rocket.png";
+        this.textureName = "rocket.png";
     }
     public Rocket(float x, float y, String textureName) {
         this(x, y);
-        this.texturePath = textureName;
+        this.textureName = TextureAtlas.nameOf(textureName);
     }
 
     @Override
@@ -64,11 +60,11 @@ public class Rocket extends GameObject {
     }
 
     public boolean canShoot() {
-        return System.currentTimeMillis() - lastShot >= fireRate;
+        return GameClock.currentTimeMillis() - lastShot >= fireRate;
     }
 
     public void shoot() {
-        lastShot = System.currentTimeMillis();
+        lastShot = GameClock.currentTimeMillis();
     }
 
     public void takeDamage(int amount) {
@@ -90,108 +86,39 @@ public class Rocket extends GameObject {
     }
 
     public boolean isInvincible() {  // تم إصلاح الخطأ هنا - إضافة الدالة
-        return System.currentTimeMillis() < invincibleUntil;
+        return GameClock.currentTimeMillis() < invincibleUntil;
     }
 
     public void setInvincible(int duration) {
-        invincibleUntil = System.currentTimeMillis() + duration;
-    }
-
-    public void loadTexture(GL gl) {
-        if (textureLoaded) return;
-
-        try {
-
-            File textureFile = new File(texturePath);
-
-            if (textureFile.exists()) {
-                rocketTexture = TextureIO.newTexture(textureFile, true);
-                rocketTexture.setTexParameteri(GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR);
-                rocketTexture.setTexParameteri(GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
-                textureLoaded = true;
-                System.out.println("Rocket texture loaded successfully: " + texturePath);
-            } else {
-                System.err.println("Rocket texture file not found: " + texturePath);
-                textureLoaded = false;
-            }
-        } catch (IOException e) {
-            System.err.println("Error loading rocket texture: " + e.getMessage());
-            textureLoaded = false;
-        }
+        invincibleUntil = GameClock.currentTimeMillis() + duration;
     }
 
     @Override
-    public void render(GL gl) {
-        gl.glPushMatrix();
-        gl.glTranslatef(position.x, position.y, 0);
-
-        drawShieldEffect(gl);
-
-        if (!textureLoaded) {
-            loadTexture(gl);
+    public void render(GL gl, SpriteBatch batch) {
+        drawShieldEffect(batch);
+
+        TextureAtlas.Region region = TextureManager.getInstance().getRegion(gl, textureName);
+        if (region != null) {
+            batch.quad(SpriteBatch.LAYER_ROCKETS, region.texture, SpriteBatch.BLEND_ALPHA,
+                    position.x, position.y, width, height,
+                    region.u0, region.v0, region.u1, region.v1, 1, 1, 1, 1);
+        } else {
+            gl.glPushMatrix();
+            gl.glTranslatef(position.x, position.y, 0);
+            drawRocketBodyAsBackup(gl);
+            gl.glPopMatrix();
         }
-
-        drawRocketWithTexture(gl);
-
-        gl.glPopMatrix();
     }
 
-    private void drawShieldEffect(GL gl) {
+    private void drawShieldEffect(SpriteBatch batch) {
         if (shield <= 0) return;
 
         float shieldStrength = (float) shield / maxShield;
-
-        gl.glEnable(GL.GL_BLEND);
-        gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
-
         float glowSize = 10 * shieldStrength;
-        gl.glColor4f(0.3f, 0.7f, 1.0f, shieldStrength * 0.5f);
-
-        gl.glBegin(GL.GL_QUADS);
-        gl.glVertex2f(-glowSize, -glowSize);
-        gl.glVertex2f(width + glowSize, -glowSize);
-        gl.glVertex2f(width + glowSize, height + glowSize);
-        gl.glVertex2f(-glowSize, height + glowSize);
-        gl.glEnd();
 
-        gl.glDisable(GL.GL_BLEND);
-    }
-
-    private void drawRocketWithTexture(GL gl) {
-        if (rocketTexture != null && textureLoaded) {
-            rocketTexture.bind();
-            rocketTexture.enable();
-
-            gl.glEnable(GL.GL_TEXTURE_2D);
-            gl.glTexEnvi(GL.GL_TEXTURE_ENV, GL.GL_TEXTURE_ENV_MODE, GL.GL_REPLACE);
-
-            if (isInvincible() && (System.currentTimeMillis() / 100) % 2 == 0) {
-                gl.glColor3f(1.0f, 1.0f, 1.0f);
-            } else {
-                gl.glColor3f(1.0f, 1.0f, 1.0f);
-            }
-
-            gl.glBegin(GL.GL_QUADS);
-
-            gl.glTexCoord2f(0.0f, 0.0f);
-            gl.glVertex2f(0, 0);
-
-            gl.glTexCoord2f(1.0f, 0.0f);
-            gl.glVertex2f(width, 0);
-
-            gl.glTexCoord2f(1.0f, 1.0f);
-            gl.glVertex2f(width, height);
-
-            gl.glTexCoord2f(0.0f, 1.0f);
-            gl.glVertex2f(0, height);
-
-            gl.glEnd();
-
-            rocketTexture.disable();
-            gl.glDisable(GL.GL_TEXTURE_2D);
-        } else {
-            drawRocketBodyAsBackup(gl);
-        }
+        batch.quad(SpriteBatch.LAYER_ROCKETS, SpriteBatch.BLEND_ALPHA,
+                position.x - glowSize, position.y - glowSize, width + glowSize * 2, height + glowSize * 2,
+                0.3f, 0.7f, 1.0f, shieldStrength * 0.5f);
     }
 
     private void drawRocketBodyAsBackup(GL gl) {
@@ -47,6 +47,18 @@ public class InputHandler implements KeyListener, MouseListener, MouseMotionList
     @Override
     public void keyTyped(KeyEvent e) {}
 
+    public void pressKey(int keyCode) {
+        pressedKeys.add(keyCode);
+    }
+
+    public void releaseKey(int keyCode) {
+        pressedKeys.remove(keyCode);
+    }
+
+    public void releaseAllKeys() {
+        pressedKeys.clear();
+    }
+
     public boolean isKeyPressed(int keyCode) {
         return pressedKeys.contains(keyCode);
     }
@@ -105,7 +117,7 @@ public class InputHandler implements KeyListener, MouseListener, MouseMotionList
             // Exit Game (Menu)
             if (mx >= GameRenderer.MENU_BTN_X && mx <= GameRenderer.MENU_BTN_X + GameRenderer.BUTTON_WIDTH &&
                     my >= GameRenderer.MENU_BTN_Y && my <= GameRenderer.MENU_BTN_Y + GameRenderer.BUTTON_HEIGHT) {
-                System.exit(0);
+                exitGame();
                 return;
             }
 
@@ -131,7 +143,7 @@ public class InputHandler implements KeyListener, MouseListener, MouseMotionList
             // Exit to Menu
             if (mx >= GameRenderer.MENU_BTN_X && mx <= GameRenderer.MENU_BTN_X + GameRenderer.BUTTON_WIDTH &&
                     my >= GameRenderer.MENU_BTN_Y && my <= GameRenderer.MENU_BTN_Y + GameRenderer.BUTTON_HEIGHT) {
-                System.exit(0);
+                exitGame();
                 return;
             }
 
@@ -179,6 +191,14 @@ private void toggleMute() {
         }
     }
 
+    private void exitGame() {
+        if (mainGame != null) {
+            mainGame.exit();
+        } else {
+            System.exit(0);
+        }
+    }
+
     @Override
     public void mousePressed(MouseEvent e) {
         mousePressed = true;
@@ -189,6 +209,15 @@ private void toggleMute() {
         mousePressed = false;
     }
 
+    public void setMouseButtonPressed(boolean pressed) {
+        mousePressed = pressed;
+    }
+
+    public void setMousePosition(int x, int y) {
+        mouseX = x;
+        mouseY = y;
+    }
+
     public boolean isMouseButtonPressed() {
         return mousePressed;
     }
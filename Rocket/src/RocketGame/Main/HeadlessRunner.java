@@ -0,0 +1,203 @@
+package RocketGame.Main;
+
+import RocketGame.Audio.SoundEventBuffer;
+import RocketGame.Audio.SoundManager;
+import RocketGame.Core.GameEngine;
+import RocketGame.Core.GameState;
+import RocketGame.Effects.ParticleSystem;
+import RocketGame.Input.InputHandler;
+import RocketGame.Util.Constants;
+
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Runs the simulation without a window, GL context or audio output.
+ * Usage: HeadlessRunner [--ticks N | --seconds S] [--mode single|multi|ai]
+ *                       [--level 1-3] [--input scripted|idle] [--report S]
+ *                       [--particle-budget N]
+ */
+public class HeadlessRunner {
+
+    private long maxTicks = -1;
+    private double maxSeconds = 10;
+    private String mode = "single";
+    private int level = 1;
+    private String inputMode = "scripted";
+    private double reportInterval = 1.0;
+    private int particleBudget = -1;
+
+    private GameEngine gameEngine;
+    private InputHandler inputHandler;
+    private int restarts;
+
+    public static void main(String[] args) {
+        HeadlessRunner runner = new HeadlessRunner();
+        if (!runner.parseArgs(args)) {
+            System.out.println("Usage: HeadlessRunner [--ticks N | --seconds S] [--mode single|multi|ai] " +
+                    "[--level 1-3] [--input scripted|idle] [--report S] [--particle-budget N]");
+            return;
+        }
+        runner.run();
+    }
+
+    private boolean parseArgs(String[] args) {
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--ticks":
+                        maxTicks = Long.parseLong(args[++i]);
+                        break;
+                    case "--seconds":
+                        maxSeconds = Double.parseDouble(args[++i]);
+                        maxTicks = -1;
+                        break;
+                    case "--mode":
+                        mode = args[++i];
+                        break;
+                    case "--level":
+                        level = Integer.parseInt(args[++i]);
+                        break;
+                    case "--input":
+                        inputMode = args[++i];
+                        break;
+                    case "--report":
+                        reportInterval = Double.parseDouble(args[++i]);
+                        break;
+                    case "--particle-budget":
+                        particleBudget = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        return false;
+                }
+            }
+        } catch (RuntimeException e) {
+            return false;
+        }
+        return mode.equals("single") || mode.equals("multi") || mode.equals("ai");
+    }
+
+    private void run() {
+        SoundManager.setAudioEnabled(false);
+
+        boolean isMultiplayer = !mode.equals("single");
+        boolean isAI = mode.equals("ai");
+        String username2 = isAI ? "AI" : (isMultiplayer ? "headless2" : null);
+
+        gameEngine = new GameEngine(null, isMultiplayer, isAI, level, "headless", username2);
+        gameEngine.getGameState().setPersistHighScore(false);
+        if (particleBudget >= 0) {
+            gameEngine.getParticleSystem().setBudget(particleBudget);
+        }
+
+        if (inputMode.equals("scripted")) {
+            inputHandler = new InputHandler(gameEngine, null);
+            gameEngine.setInputHandler(inputHandler);
+        }
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long startTime = System.nanoTime();
+        long startAllocated = allocatedBytes(threadBean, threadId);
+        long lastReportTime = startTime;
+        long lastReportTicks = 0;
+        long lastReportAllocated = startAllocated;
+        long ticks = 0;
+
+        System.out.println("HEADLESS: mode=" + mode + " level=" + level + " input=" + inputMode +
+                (maxTicks >= 0 ? " ticks=" + maxTicks : " seconds=" + maxSeconds));
+
+        while (true) {
+            long now = System.nanoTime();
+            if (maxTicks >= 0 ? ticks >= maxTicks : (now - startTime) / 1e9 >= maxSeconds) {
+                break;
+            }
+
+            if (inputHandler != null) {
+                applyScript(ticks);
+            }
+
+            gameEngine.step();
+            ticks++;
+
+            if (gameEngine.getGameState().isGameOver()) {
+                restarts++;
+                gameEngine.restart();
+            }
+
+            if ((now - lastReportTime) / 1e9 >= reportInterval) {
+                long allocated = allocatedBytes(threadBean, threadId);
+                report("PROGRESS", ticks - lastReportTicks, now - lastReportTime, allocated - lastReportAllocated);
+                lastReportTime = now;
+                lastReportTicks = ticks;
+                lastReportAllocated = allocated;
+            }
+        }
+
+        long elapsed = System.nanoTime() - startTime;
+        report("TOTAL", ticks, elapsed, allocatedBytes(threadBean, threadId) - startAllocated);
+        System.out.println("HEADLESS: ticks=" + ticks + " restarts=" + restarts +
+                " simulated=" + String.format("%.1fs", ticks * Constants.TICK_SECONDS));
+    }
+
+    // Player 1 sweeps left and right while firing; player 2 (when human) mirrors it with WASD and the mouse.
+    private void applyScript(long tick) {
+        boolean goingRight = (tick / 90) % 2 == 0;
+        boolean climbing = (tick / 240) % 2 == 0;
+
+        inputHandler.releaseAllKeys();
+        inputHandler.pressKey(KeyEvent.VK_SPACE);
+        inputHandler.pressKey(goingRight ? KeyEvent.VK_RIGHT : KeyEvent.VK_LEFT);
+        if (tick % 240 < 30) {
+            inputHandler.pressKey(climbing ? KeyEvent.VK_UP : KeyEvent.VK_DOWN);
+        }
+
+        if (mode.equals("multi")) {
+            inputHandler.pressKey(goingRight ? KeyEvent.VK_A : KeyEvent.VK_D);
+            inputHandler.setMousePosition((int) (tick * 7 % Constants.WINDOW_WIDTH), Constants.WINDOW_HEIGHT - 80);
+            inputHandler.setMouseButtonPressed(true);
+        }
+    }
+
+    private void report(String label, long ticks, long nanos, long allocatedBytes) {
+        GameState gameState = gameEngine.getGameState();
+        double seconds = Math.max(nanos / 1e9, 1e-9);
+
+        String allocation = allocatedBytes < 0 ? "n/a" :
+                String.format("%.2f MB/s (%d B/tick)", allocatedBytes / seconds / (1024 * 1024),
+                        ticks > 0 ? allocatedBytes / ticks : 0);
+
+        ParticleSystem particleSystem = gameEngine.getParticleSystem();
+        SoundEventBuffer sounds = SoundManager.getInstance().getSoundEvents();
+
+        System.out.println(String.format("%s: %.0f ticks/s | bullets=%d enemies=%d obstacles=%d powerups=%d " +
+                        "particles=%d/%d (dropped=%d evicted=%d) boss=%s | " +
+                        "sounds=%d/%d (merged=%d limited=%d peak=%d/tick) | alloc %s",
+                label,
+                ticks / seconds,
+                gameState.getBullets().size(),
+                gameState.getEnemies().size(),
+                gameState.getObstacles().size(),
+                gameState.getPowerups().size(),
+                particleSystem.getParticleCount(),
+                particleSystem.getBudget(),
+                particleSystem.getDroppedCount(),
+                particleSystem.getEvictedCount(),
+                gameState.hasBoss() ? "yes" : "no",
+                sounds.getPlayedCount(),
+                sounds.getRequestedCount(),
+                sounds.getCoalescedCount(),
+                sounds.getRateLimitedCount(),
+                sounds.getPeakPerTick(),
+                allocation));
+    }
+
+    private static long allocatedBytes(ThreadMXBean threadBean, long threadId) {
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(threadId);
+        }
+        return -1;
+    }
+}
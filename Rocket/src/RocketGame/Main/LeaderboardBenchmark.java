@@ -0,0 +1,212 @@
+package RocketGame.Main;
+
+import RocketGame.Util.Leaderboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Times the leaderboard index on a large synthetic player table: building
+ * it with putAll and one put at a time, then rankOf, topK(10), around(5)
+ * and score updates, next to the copy-and-scan rank lookup it replaced.
+ * Every answer checked is compared with a sort of the whole table, after
+ * the build and again after the updates; it exits with status 1 on the
+ * first mismatch.
+ * Usage: LeaderboardBenchmark [--players N] [--seed S]
+ */
+public class LeaderboardBenchmark {
+
+    private static final int MAX_SCORE = 100000;
+    private static final int QUERIES = 100000;
+
+    public static void main(String[] args) {
+        int players = 1000000;
+        long seed = 42;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--players":
+                        players = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException(args[i]);
+                }
+            }
+            if (players < 1) throw new IllegalArgumentException("players");
+        } catch (RuntimeException e) {
+            System.out.println("Usage: LeaderboardBenchmark [--players N] [--seed S]");
+            System.exit(2);
+        }
+
+        Random random = new Random(seed);
+        String[] names = new String[players];
+        int[] scores = new int[players];
+        Map<String, String> all = new HashMap<>(players * 2);
+        for (int i = 0; i < players; i++) {
+            names[i] = "player" + i;
+            scores[i] = random.nextInt(MAX_SCORE);
+            all.put(names[i], names[i]);
+        }
+
+        long start = System.nanoTime();
+        Leaderboard<String> incremental = new Leaderboard<>();
+        for (int i = 0; i < players; i++) {
+            incremental.put(names[i], scores[i], names[i]);
+        }
+        long putTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Leaderboard<String> leaderboard = new Leaderboard<>();
+        leaderboard.putAll(all, name -> scores[indexOf(name)]);
+        long putAllTime = System.nanoTime() - start;
+
+        System.out.printf("%d players: putAll %.0f ms, one put at a time %.0f ms%n",
+                players, putAllTime / 1e6, putTime / 1e6);
+
+        check("after putAll", leaderboard, names, scores, random);
+        check("after single puts", incremental, names, scores, random);
+        incremental = null;
+
+        long sink = 0;
+        for (int pass = 0; pass < 3; pass++) {
+            start = System.nanoTime();
+            for (int q = 0; q < QUERIES; q++) {
+                sink += leaderboard.rankOf(random.nextInt(MAX_SCORE));
+            }
+            long rankTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int q = 0; q < QUERIES; q++) {
+                sink += leaderboard.topK(10).size();
+            }
+            long topTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int q = 0; q < QUERIES; q++) {
+                sink += leaderboard.around(names[random.nextInt(players)], 5).size();
+            }
+            long aroundTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int q = 0; q < QUERIES; q++) {
+                int i = random.nextInt(players);
+                scores[i] += random.nextInt(500);
+                leaderboard.put(names[i], scores[i], names[i]);
+            }
+            long updateTime = System.nanoTime() - start;
+
+            // The lookup GameRenderer used before: copy every player's stats, then count higher scores.
+            Map<String, Integer> table = new HashMap<>(players * 2);
+            for (int i = 0; i < players; i++) {
+                table.put(names[i], scores[i]);
+            }
+            int scans = 5;
+            start = System.nanoTime();
+            for (int q = 0; q < scans; q++) {
+                Map<String, Integer> copy = new HashMap<>(table);
+                int score = random.nextInt(MAX_SCORE);
+                int rank = 1;
+                for (int value : copy.values()) {
+                    if (value > score) rank++;
+                }
+                sink += rank;
+            }
+            long scanTime = System.nanoTime() - start;
+
+            System.out.printf("rankOf %.2f us | topK(10) %.2f us | around(5) %.2f us | update %.2f us | old copy+scan %.1f ms%n",
+                    rankTime / 1e3 / QUERIES, topTime / 1e3 / QUERIES, aroundTime / 1e3 / QUERIES,
+                    updateTime / 1e3 / QUERIES, scanTime / 1e6 / scans);
+        }
+
+        check("after updates", leaderboard, names, scores, random);
+        System.out.println("LEADERBOARD OK: seed=" + seed + " (" + sink + ")");
+    }
+
+    private static int indexOf(String name) {
+        return Integer.parseInt(name.substring("player".length()));
+    }
+
+    // Compares ranks, the top of the table and neighbourhoods with a full sort of every player.
+    private static void check(String label, Leaderboard<String> leaderboard, String[] names, int[] scores, Random random) {
+        int players = names.length;
+        Integer[] order = new Integer[players];
+        for (int i = 0; i < players; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> scores[a] != scores[b]
+                ? Integer.compare(scores[b], scores[a])
+                : names[a].compareTo(names[b]));
+
+        int[] position = new int[players];
+        for (int p = 0; p < players; p++) {
+            position[order[p]] = p;
+        }
+        int[] ascending = scores.clone();
+        Arrays.sort(ascending);
+
+        if (leaderboard.size() != players) {
+            fail(label, "size " + leaderboard.size() + " vs " + players);
+        }
+
+        for (int q = 0; q < 1000; q++) {
+            int score = random.nextInt(MAX_SCORE + 1000);
+            int expected = players - countAtMost(ascending, score) + 1;
+            int actual = leaderboard.rankOf(score);
+            if (actual != expected) {
+                fail(label, "rankOf(" + score + ") " + actual + " vs brute force " + expected);
+            }
+        }
+
+        List<String> expectedTop = new ArrayList<>();
+        for (int p = 0; p < Math.min(10, players); p++) {
+            expectedTop.add(names[order[p]]);
+        }
+        List<String> top = leaderboard.topK(10);
+        if (!top.equals(expectedTop)) {
+            fail(label, "topK(10) " + top + " vs brute force " + expectedTop);
+        }
+
+        for (int q = 0; q < 1000; q++) {
+            int i = random.nextInt(players);
+            int from = Math.max(0, position[i] - 5);
+            int to = Math.min(players, position[i] + 6);
+            List<String> expected = new ArrayList<>();
+            for (int p = from; p < to; p++) {
+                expected.add(names[order[p]]);
+            }
+            List<String> actual = leaderboard.around(names[i], 5);
+            if (!actual.equals(expected)) {
+                fail(label, "around(" + names[i] + ", 5) " + actual + " vs brute force " + expected);
+            }
+            if (leaderboard.rankOfPlayer(names[i]) != leaderboard.rankOf(scores[i])) {
+                fail(label, "rankOfPlayer(" + names[i] + ") does not match rankOf(" + scores[i] + ")");
+            }
+        }
+    }
+
+    private static int countAtMost(int[] ascending, int score) {
+        int low = 0;
+        int high = ascending.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ascending[mid] <= score) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void fail(String label, String error) {
+        System.out.println("MISMATCH " + label + ": " + error);
+        System.exit(1);
+    }
+}
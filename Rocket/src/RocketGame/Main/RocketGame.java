@@ -1,14 +1,21 @@
 package RocketGame.Main;
 
 import javax.media.opengl.GLCanvas;
+import javax.media.opengl.GLContext;
+import javax.media.opengl.GLException;
 import javax.swing.*;
 
 import RocketGame.Audio.SoundManager;
+import RocketGame.Core.AssetPreloader;
 import RocketGame.Core.GameEngine;
 import RocketGame.Core.Home;
 import RocketGame.Input.InputHandler;
+import RocketGame.Rendering.BitmapFont;
 import RocketGame.Rendering.GameRenderer;
+import RocketGame.Rendering.ShapeCache;
+import RocketGame.Texture.TextureManager;
 import RocketGame.Util.Constants;
+import RocketGame.Util.StatsWriter;
 import com.sun.opengl.util.FPSAnimator;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
@@ -26,6 +33,7 @@ public class RocketGame extends JFrame {
 
     public RocketGame() {
         super(Constants.WINDOW_TITLE);
+        AssetPreloader.getInstance().start();
         initializeComponents();
         configureWindow();
         start();
@@ -47,6 +55,7 @@ public class RocketGame extends JFrame {
     public void startGame(boolean isMultiplayer , boolean isAI , int level , String username , String username2) {
         glCanvas.removeGLEventListener(homeScreen);
         glCanvas.removeMouseListener(homeScreen);
+        homeScreen.releaseTextures();
 
         gameEngine = new GameEngine(null , isMultiplayer , isAI , level , username , username2);
         inputHandler = new InputHandler(gameEngine, this);
@@ -69,8 +78,7 @@ public class RocketGame extends JFrame {
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
-                stop();
-                System.exit(0);
+                exit();
             }
         });
         pack();
@@ -83,6 +91,7 @@ public class RocketGame extends JFrame {
             gameEngine = null;
         }
         glCanvas.removeGLEventListener(gameRenderer);
+        gameRenderer.releaseTextures();
         glCanvas.removeKeyListener(inputHandler);
         glCanvas.removeMouseListener(inputHandler);
         glCanvas.removeMouseMotionListener(inputHandler);
@@ -102,6 +111,33 @@ public class RocketGame extends JFrame {
         if (animator != null) {
             animator.stop();
         }
+        disposeGLResources();
+        if (!StatsWriter.getInstance().flush(2000)) {
+            System.err.println("[ERROR] Timed out saving stats");
+        }
+    }
+
+    // Every way out of the game goes through here, so pending stats reach the disk first.
+    public void exit() {
+        stop();
+        System.exit(0);
+    }
+
+    // Textures (atlas and font) and display lists can only be deleted with the canvas context current, so borrow it once the animator has stopped.
+    private void disposeGLResources() {
+        GLContext context = glCanvas.getContext();
+        if (context == null) return;
+
+        try {
+            if (context.makeCurrent() != GLContext.CONTEXT_NOT_CURRENT) {
+                TextureManager.getInstance().dispose(context.getGL());
+                ShapeCache.getInstance().dispose(context.getGL());
+                BitmapFont.getInstance().dispose(context.getGL());
+                context.release();
+            }
+        } catch (GLException e) {
+            e.printStackTrace();
+        }
     }
 
     public static void main(String[] args) {
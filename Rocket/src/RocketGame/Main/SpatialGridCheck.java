@@ -0,0 +1,140 @@
+package RocketGame.Main;
+
+import RocketGame.Core.SpatialGrid;
+import RocketGame.Entities.GameObject;
+import RocketGame.Util.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks the collision broadphase against brute force. Builds random
+ * populations (including objects off the field, inactive ones and large
+ * ones spanning many cells), then for every probe compares the hits the
+ * grid finds with a scan of the whole list, and the first hit the
+ * collision passes would take. Exits with status 1 on the first mismatch.
+ * Usage: SpatialGridCheck [--rounds N] [--seed S]
+ */
+public class SpatialGridCheck {
+
+    private static final float[] CELL_SIZES = {16, 64, 150};
+
+    private static class Box extends GameObject {
+        Box(float x, float y, float width, float height) {
+            super(x, y, width, height);
+        }
+
+        @Override
+        public void update(float deltaTime) {
+        }
+    }
+
+    public static void main(String[] args) {
+        int rounds = 200;
+        long seed = System.nanoTime();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--rounds":
+                        rounds = Integer.parseInt(args[++i]);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Usage: SpatialGridCheck [--rounds N] [--seed S]");
+            System.exit(2);
+        }
+
+        Random random = new Random(seed);
+        long probes = 0;
+        long hits = 0;
+
+        for (float cellSize : CELL_SIZES) {
+            // One grid per size, rebuilt every round, as CollisionManager reuses its grids.
+            SpatialGrid grid = new SpatialGrid(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT, cellSize);
+
+            for (int round = 0; round < rounds; round++) {
+                List<Box> targets = randomPopulation(random, random.nextInt(300));
+                List<Box> sources = randomPopulation(random, 1 + random.nextInt(100));
+                grid.build(targets);
+
+                for (Box source : sources) {
+                    String error = compare(grid, source, targets);
+                    if (error != null) {
+                        System.out.println("MISMATCH (seed=" + seed + ", cell=" + cellSize + ", round=" + round + "): " + error);
+                        System.exit(1);
+                    }
+                    probes++;
+                    hits += bruteForceHits(source, targets).size();
+                }
+            }
+        }
+
+        System.out.println("SPATIAL GRID OK: seed=" + seed + " probes=" + probes + " hits=" + hits);
+    }
+
+    private static List<Box> randomPopulation(Random random, int count) {
+        List<Box> boxes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float x = -100 + random.nextFloat() * (Constants.WINDOW_WIDTH + 200);
+            float y = -100 + random.nextFloat() * (Constants.WINDOW_HEIGHT + 200);
+            float width;
+            float height;
+            if (random.nextInt(20) == 0) {
+                width = 100 + random.nextFloat() * 300;
+                height = 100 + random.nextFloat() * 300;
+            } else {
+                width = 4 + random.nextFloat() * 60;
+                height = 4 + random.nextFloat() * 60;
+            }
+            Box box = new Box(x, y, width, height);
+            box.setActive(random.nextInt(8) != 0);
+            boxes.add(box);
+        }
+        return boxes;
+    }
+
+    // Returns a description of the first difference, or null if the grid agrees with brute force.
+    private static String compare(SpatialGrid grid, GameObject source, List<Box> targets) {
+        List<Integer> expected = bruteForceHits(source, targets);
+
+        List<Integer> actual = new ArrayList<>();
+        int count = grid.query(source);
+        int previous = Integer.MAX_VALUE;
+        for (int k = 0; k < count; k++) {
+            int index = grid.getResult(k);
+            if (index >= previous) {
+                return "candidates not in descending order at " + k;
+            }
+            previous = index;
+
+            Box target = targets.get(index);
+            if (target.isActive() && source.collidesWith(target)) {
+                actual.add(index);
+            }
+        }
+
+        if (!actual.equals(expected)) {
+            return "grid hits " + actual + " vs brute force " + expected;
+        }
+        return null;
+    }
+
+    // Every active overlapping target, highest index first, like the old reverse loops.
+    private static List<Integer> bruteForceHits(GameObject source, List<Box> targets) {
+        List<Integer> hits = new ArrayList<>();
+        for (int i = targets.size() - 1; i >= 0; i--) {
+            Box target = targets.get(i);
+            if (target.isActive() && source.collidesWith(target)) {
+                hits.add(i);
+            }
+        }
+        return hits;
+    }
+}
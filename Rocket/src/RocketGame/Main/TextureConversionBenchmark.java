@@ -0,0 +1,194 @@
+package RocketGame.Main;
+
+import RocketGame.Texture.TextureAtlas;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Times the atlas pixel conversion (ARGB raster to RGBA mip chain) against
+ * the per-pixel byte loop it replaced, on a full atlas page tiled from the
+ * game's images and on each image alone at its power-of-two size. Every
+ * level must match the old loop byte for byte, or it exits with status 1.
+ * Run from the project folder so Assets can be found.
+ * Usage: TextureConversionBenchmark [--iterations N]
+ */
+public class TextureConversionBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = 20;
+        if (args.length == 2 && args[0].equals("--iterations")) {
+            iterations = Integer.parseInt(args[1]);
+        } else if (args.length != 0) {
+            System.out.println("Usage: TextureConversionBenchmark [--iterations N]");
+            System.exit(2);
+        }
+
+        List<BufferedImage> images = new ArrayList<>();
+        for (String name : TextureAtlas.GAME_IMAGES) {
+            BufferedImage image = TextureAtlas.decode(name);
+            if (image != null) {
+                images.add(image);
+            }
+        }
+        if (images.isEmpty()) {
+            System.out.println("No images found under " + TextureAtlas.ASSETS_FOLDER);
+            System.exit(2);
+        }
+
+        int size = TextureAtlas.PAGE_SIZE;
+        run("page " + size + "x" + size, tiledPage(images, size), size, size, iterations);
+
+        int[] pixels = new int[0];
+        int smallWidth = 0;
+        int smallHeight = 0;
+        for (BufferedImage image : images) {
+            int w = Math.min(size, Integer.highestOneBit(image.getWidth()));
+            int h = Math.min(size, Integer.highestOneBit(image.getHeight()));
+            int[] scaled = pixelsOf(image, w, h);
+            if (scaled.length > pixels.length) {
+                pixels = scaled;
+                smallWidth = w;
+                smallHeight = h;
+            }
+            if (!sameLevels(oldMipChain(scaled, w, h), TextureAtlas.buildMipChain(scaled.clone(), w, h))) {
+                System.out.println("MISMATCH on a " + w + "x" + h + " image");
+                System.exit(1);
+            }
+        }
+        run("largest image " + smallWidth + "x" + smallHeight, pixels, smallWidth, smallHeight, iterations);
+    }
+
+    private static void run(String label, int[] argb, int width, int height, int iterations) {
+        if (!sameLevels(oldMipChain(argb, width, height), TextureAtlas.buildMipChain(argb.clone(), width, height))) {
+            System.out.println("MISMATCH on " + label);
+            System.exit(1);
+        }
+
+        // Warm up both before timing.
+        for (int i = 0; i < 5; i++) {
+            oldMipChain(argb, width, height);
+            TextureAtlas.buildMipChain(argb.clone(), width, height);
+        }
+
+        long copyTime = 0;
+        long newTime = 0;
+        long oldTime = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            int[] copy = argb.clone();
+            long copied = System.nanoTime();
+            TextureAtlas.buildMipChain(copy, width, height);
+            long built = System.nanoTime();
+            oldMipChain(argb, width, height);
+            long done = System.nanoTime();
+
+            copyTime += copied - start;
+            newTime += built - copied;
+            oldTime += done - built;
+        }
+
+        System.out.printf("%s: per-pixel bytes %.2f ms, packed rows %.2f ms (input copy %.2f ms excluded), %.1fx%n",
+                label, oldTime / 1e6 / iterations, newTime / 1e6 / iterations,
+                copyTime / 1e6 / iterations, (double) oldTime / newTime);
+    }
+
+    private static int[] tiledPage(List<BufferedImage> images, int size) {
+        BufferedImage page = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = page.createGraphics();
+        int x = 0;
+        int y = 0;
+        int rowHeight = 0;
+        for (int i = 0; y < size; i++) {
+            BufferedImage image = images.get(i % images.size());
+            if (x + image.getWidth() > size) {
+                x = 0;
+                y += Math.max(1, rowHeight);
+                rowHeight = 0;
+            }
+            g.drawImage(image, x, y, null);
+            x += image.getWidth();
+            rowHeight = Math.max(rowHeight, image.getHeight());
+        }
+        g.dispose();
+        return ((DataBufferInt) page.getRaster().getDataBuffer()).getData();
+    }
+
+    private static int[] pixelsOf(BufferedImage image, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+        return ((DataBufferInt) scaled.getRaster().getDataBuffer()).getData();
+    }
+
+    private static boolean sameLevels(List<byte[]> expected, List<ByteBuffer> actual) {
+        if (expected.size() != actual.size()) return false;
+        for (int i = 0; i < expected.size(); i++) {
+            ByteBuffer level = actual.get(i).duplicate();
+            byte[] bytes = new byte[level.remaining()];
+            level.get(bytes);
+            if (!Arrays.equals(expected.get(i), bytes)) return false;
+        }
+        return true;
+    }
+
+    // The conversion TextureAtlas used before: one pixel, then one channel, at a time.
+    private static List<byte[]> oldMipChain(int[] argb, int width, int height) {
+        List<byte[]> levels = new ArrayList<>();
+
+        byte[] rgba = new byte[width * height * 4];
+        for (int i = 0, o = 0; i < argb.length; i++, o += 4) {
+            int pixel = argb[i];
+            rgba[o] = (byte) (pixel >> 16);
+            rgba[o + 1] = (byte) (pixel >> 8);
+            rgba[o + 2] = (byte) pixel;
+            rgba[o + 3] = (byte) (pixel >>> 24);
+        }
+        levels.add(copyToDirect(rgba));
+
+        int w = width;
+        int h = height;
+        while (w > 1 || h > 1) {
+            int nw = Math.max(1, w / 2);
+            int nh = Math.max(1, h / 2);
+            byte[] next = new byte[nw * nh * 4];
+
+            for (int y = 0; y < nh; y++) {
+                int y0 = Math.min(y * 2, h - 1);
+                int y1 = Math.min(y * 2 + 1, h - 1);
+                for (int x = 0; x < nw; x++) {
+                    int x0 = Math.min(x * 2, w - 1);
+                    int x1 = Math.min(x * 2 + 1, w - 1);
+                    int a = (y0 * w + x0) * 4;
+                    int b = (y0 * w + x1) * 4;
+                    int c = (y1 * w + x0) * 4;
+                    int d = (y1 * w + x1) * 4;
+                    int o = (y * nw + x) * 4;
+                    for (int ch = 0; ch < 4; ch++) {
+                        int sum = (rgba[a + ch] & 0xFF) + (rgba[b + ch] & 0xFF)
+                                + (rgba[c + ch] & 0xFF) + (rgba[d + ch] & 0xFF);
+                        next[o + ch] = (byte) ((sum + 2) >> 2);
+                    }
+                }
+            }
+
+            levels.add(copyToDirect(next));
+            rgba = next;
+            w = nw;
+            h = nh;
+        }
+        return levels;
+    }
+
+    // The old path also copied every level into a direct buffer; keep that cost in the comparison.
+    private static byte[] copyToDirect(byte[] bytes) {
+        ByteBuffer.allocateDirect(bytes.length).put(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,178 @@
+package RocketGame.Rendering;
+
+import com.sun.opengl.util.BufferUtil;
+
+import javax.media.opengl.GL;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.nio.ByteBuffer;
+
+/**
+ * Printable ASCII glyphs baked once with Java2D into a white-on-transparent
+ * texture. Text is laid out on the CPU into textured quads (see HudText) and
+ * tinted through the vertex colour, so drawing needs no Java2D at all.
+ *
+ * Layout follows TextRenderer: the y passed in is the baseline, in the
+ * renderer's y-down screen coordinates.
+ */
+public class BitmapFont {
+    public static final char FIRST_CHAR = 32;
+    public static final char LAST_CHAR = 126;
+
+    private static final int TEXTURE_WIDTH = 512;
+    private static final int PADDING = 2;
+
+    private static BitmapFont instance;
+
+    private final float[] advance = new float[LAST_CHAR - FIRST_CHAR + 1];
+    private final float[] u0 = new float[advance.length];
+    private final float[] v0 = new float[advance.length];
+    private final float[] u1 = new float[advance.length];
+    private final float[] v1 = new float[advance.length];
+    private final int cellHeight;
+    private final int ascent;
+
+    private BufferedImage image;
+    private int texture;
+
+    public static synchronized BitmapFont getInstance() {
+        if (instance == null) {
+            instance = new BitmapFont(new Font("SansSerif", Font.BOLD, 24));
+        }
+        return instance;
+    }
+
+    public BitmapFont(Font font) {
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scratch.createGraphics();
+        g.setFont(font);
+        FontMetrics metrics = g.getFontMetrics();
+        g.dispose();
+
+        ascent = metrics.getAscent();
+        cellHeight = metrics.getAscent() + metrics.getDescent() + PADDING * 2;
+
+        // Shelf layout, one row of cells after another.
+        int[] cellX = new int[advance.length];
+        int[] cellY = new int[advance.length];
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < advance.length; i++) {
+            int w = metrics.charWidth((char) (FIRST_CHAR + i)) + PADDING * 2;
+            if (x + w > TEXTURE_WIDTH) {
+                x = 0;
+                y += cellHeight;
+            }
+            cellX[i] = x;
+            cellY[i] = y;
+            advance[i] = metrics.charWidth((char) (FIRST_CHAR + i));
+            x += w;
+        }
+        int height = Integer.highestOneBit(y + cellHeight - 1) << 1;
+
+        image = new BufferedImage(TEXTURE_WIDTH, height, BufferedImage.TYPE_INT_ARGB);
+        g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(font);
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < advance.length; i++) {
+            g.drawString(String.valueOf((char) (FIRST_CHAR + i)), cellX[i] + PADDING, cellY[i] + PADDING + ascent);
+
+            u0[i] = (float) cellX[i] / TEXTURE_WIDTH;
+            v0[i] = (float) cellY[i] / height;
+            u1[i] = (cellX[i] + advance[i] + PADDING * 2) / TEXTURE_WIDTH;
+            v1[i] = (float) (cellY[i] + cellHeight) / height;
+        }
+        g.dispose();
+    }
+
+    // Uploads the glyph image on first use.
+    public int getTexture(GL gl) {
+        if (texture != 0) return texture;
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] argb = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        ByteBuffer pixels = BufferUtil.newByteBuffer(argb.length * 4);
+        for (int pixel : argb) {
+            pixels.put((byte) 0xFF);
+            pixels.put((byte) 0xFF);
+            pixels.put((byte) 0xFF);
+            pixels.put((byte) (pixel >>> 24));
+        }
+        pixels.flip();
+
+        int[] id = new int[1];
+        gl.glGenTextures(1, id, 0);
+        gl.glBindTexture(GL.GL_TEXTURE_2D, id[0]);
+        gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR);
+        gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
+        gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_S, GL.GL_CLAMP_TO_EDGE);
+        gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_T, GL.GL_CLAMP_TO_EDGE);
+        gl.glPixelStorei(GL.GL_UNPACK_ALIGNMENT, 1);
+        gl.glTexImage2D(GL.GL_TEXTURE_2D, 0, GL.GL_RGBA, width, height, 0,
+                GL.GL_RGBA, GL.GL_UNSIGNED_BYTE, pixels);
+
+        texture = id[0];
+        return texture;
+    }
+
+    /**
+     * Writes one quad (4 vertices of x, y, u, v, r, g, b, a) per printable
+     * character into {@code out}; other characters are skipped.
+     * @return the x position after the last character
+     */
+    public float layout(char[] text, int length, float x, float baseline, float[] color, float[] out, int offset) {
+        float top = baseline - ascent - PADDING;
+        float bottom = top + cellHeight;
+        int o = offset;
+
+        for (int i = 0; i < length; i++) {
+            char c = text[i];
+            if (c < FIRST_CHAR || c > LAST_CHAR) continue;
+            int glyph = c - FIRST_CHAR;
+
+            float left = x - PADDING;
+            float right = x + advance[glyph] + PADDING;
+            o = vertex(out, o, left, top, u0[glyph], v0[glyph], color);
+            o = vertex(out, o, right, top, u1[glyph], v0[glyph], color);
+            o = vertex(out, o, right, bottom, u1[glyph], v1[glyph], color);
+            o = vertex(out, o, left, bottom, u0[glyph], v1[glyph], color);
+            x += advance[glyph];
+        }
+        return x;
+    }
+
+    public static int printableCount(char[] text, int length) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (text[i] >= FIRST_CHAR && text[i] <= LAST_CHAR) count++;
+        }
+        return count;
+    }
+
+    private static int vertex(float[] out, int o, float x, float y, float u, float v, float[] color) {
+        out[o] = x;
+        out[o + 1] = y;
+        out[o + 2] = u;
+        out[o + 3] = v;
+        out[o + 4] = color[0];
+        out[o + 5] = color[1];
+        out[o + 6] = color[2];
+        out[o + 7] = color[3];
+        return o + 8;
+    }
+
+    // Must run with the game's GL context current.
+    public void dispose(GL gl) {
+        if (texture != 0) {
+            gl.glDeleteTextures(1, new int[]{texture}, 0);
+            texture = 0;
+        }
+    }
+}
@@ -10,19 +10,44 @@ import RocketGame.Effects.ParticleSystem;
 import RocketGame.Audio.SoundManager;
 import RocketGame.Util.Constants;
 import RocketGame.Util.UserStatsManager;
-import com.sun.opengl.util.j2d.TextRenderer;
-import java.awt.Font;
+import RocketGame.Texture.TextureManager;
 import java.io.File;
 import java.nio.file.Files;
 import java.util.List;
-import java.util.Map;
 
 public class GameRenderer implements GLEventListener {
     private GameEngine gameEngine;
-    private TextRenderer textRenderer;
-    private UserStatsManager statsManager;
-    private long gameStartTime;
-    private boolean statsSaved = false;
+    private final HudText hudText = new HudText();
+    private final HudText.Slot scoreText = hudText.add("SCORE: ", 10, 30);
+    private final HudText.Slot highScoreText = hudText.add("HIGH SCORE: ", 280, 80);
+    private final HudText.Slot livesText = hudText.add("LIVES: ", 10, 60);
+    private final HudText.Slot levelText = hudText.add("LEVEL: ", Constants.WINDOW_WIDTH / 2 - 50, 30);
+    private final HudText.Slot nameText = hudText.add("P1: ", 10, 110);
+    private final HudText.Slot score2Text = hudText.add("SCORE: ", Constants.WINDOW_WIDTH - 220, 30);
+    private final HudText.Slot lives2Text = hudText.add("LIVES: ", Constants.WINDOW_WIDTH - 220, 60);
+    private final HudText.Slot name2Text = hudText.add("P2: ", Constants.WINDOW_WIDTH - 220, 110);
+
+    private final HudText gameOverText = new HudText();
+    private final HudText.Slot titleText = gameOverText.add("", Constants.WINDOW_WIDTH / 2 - 180, 200);
+    private final HudText.Slot p1ScoreText = gameOverText.add("P1 SCORE: ", Constants.WINDOW_WIDTH / 2 - 100, 250);
+    private final HudText.Slot p2ScoreText = gameOverText.add("P2 SCORE: ", Constants.WINDOW_WIDTH / 2 - 100, 290);
+    private final HudText.Slot finalScoreText = gameOverText.add("FINAL SCORE: ", Constants.WINDOW_WIDTH / 2 - 100, 250);
+    private final HudText.Slot rankText = gameOverText.add("YOUR RANK: ", Constants.WINDOW_WIDTH / 2 - 100, 280);
+
+    private final HudText gameOverButtonText = new HudText();
+    private final HudText pauseText = new HudText();
+    private final HudText upgradeText = new HudText();
+    private final HudText transitionText = new HudText();
+    private final HudText.Slot nextLevelText = transitionText.add("LEVEL ", 350, 300);
+    private final SpriteBatch spriteBatch = new SpriteBatch();
+    private boolean texturesAcquired = false;
+
+    private static final String[] TEXTURES = {
+            "planet1.png", "planet2.png", "planet3.png", "planet4.png",
+            "planet5.png", "planet6.png", "planet7.png",
+            "37.png", "rocket.png", "s2.png"
+    };
+    private final UserStatsManager statsManager = UserStatsManager.getInstance();
 
 
     public static final int BUTTON_WIDTH = 200;
@@ -52,10 +77,14 @@ public class GameRenderer implements GLEventListener {
 
     public GameRenderer(GameEngine gameEngine) {
         this.gameEngine = gameEngine;
-        this.statsManager = new UserStatsManager();
-        this.gameStartTime = System.currentTimeMillis();
-        this.statsSaved = false;
         initializeStars();
+
+        gameOverButtonText.add("PLAY AGAIN", RESTART_BTN_X + 40, RESTART_BTN_Y + 35);
+        gameOverButtonText.add("EXIT GAME", MENU_BTN_X + 45, MENU_BTN_Y + 35);
+        pauseText.add("GAME PAUSED", Constants.WINDOW_WIDTH / 2 - 80, 150);
+        pauseText.add("RESUME", RESUME_BTN_X + 50, RESUME_BTN_Y + 35);
+        pauseText.add("EXIT GAME", MENU_BTN_X + 35, MENU_BTN_Y + 35);
+        upgradeText.add("LEVEL UP! CHOOSE UPGRADE", 300, 200);
     }
 
     @Override
@@ -69,7 +98,18 @@ public class GameRenderer implements GLEventListener {
         gl.glEnable(GL.GL_TEXTURE_2D);
         gl.glEnable(GL.GL_BLEND);
         gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
-        textRenderer = new TextRenderer(new Font("SansSerif", Font.BOLD, 24));
+
+        if (!texturesAcquired) {
+            TextureManager.getInstance().acquireAll(gl, TEXTURES);
+            texturesAcquired = true;
+        }
+    }
+
+    public void releaseTextures() {
+        if (texturesAcquired) {
+            TextureManager.getInstance().releaseAll(TEXTURES);
+            texturesAcquired = false;
+        }
     }
 
     @Override
@@ -83,11 +123,7 @@ public class GameRenderer implements GLEventListener {
 
         GameState gameState = gameEngine.getGameState();
         ParticleSystem particleSystem = gameEngine.getParticleSystem();
-
-        gameState.getRocket().render(gl);
-        if (gameState.getRocket2() != null) {
-            gameState.getRocket2().render(gl);
-        }
+        float alpha = gameEngine.getInterpolationAlpha();
 
         drawStarField(gl);
 
@@ -95,44 +131,46 @@ public class GameRenderer implements GLEventListener {
         particleSystem.render(gl);
         gl.glEnable(GL.GL_TEXTURE_2D);
 
+        spriteBatch.begin();
+
         if (!gameState.isGameOver()) {
             for (int i = 0; i < gameState.getPowerups().size(); i++) {
-                gameState.getPowerups().get(i).render(gl);
+                renderEntity(gl, gameState.getPowerups().get(i), alpha);
             }
 
             for (int i = 0; i < gameState.getObstacles().size(); i++) {
-                gameState.getObstacles().get(i).render(gl);
+                renderEntity(gl, gameState.getObstacles().get(i), alpha);
             }
 
+            // Enemies are still drawn immediately, so the planets have to reach the screen first to stay underneath.
+            spriteBatch.flush(gl);
+
             for (int i = 0; i < gameState.getEnemies().size(); i++) {
-                gameState.getEnemies().get(i).render(gl);
+                renderEntity(gl, gameState.getEnemies().get(i), alpha);
             }
 
             if (gameState.getBoss() != null) {
-                gameState.getBoss().render(gl);
+                renderEntity(gl, gameState.getBoss(), alpha);
             }
         }
 
         for (int i = 0; i < gameState.getBullets().size(); i++) {
-            gameState.getBullets().get(i).render(gl);
+            renderEntity(gl, gameState.getBullets().get(i), alpha);
         }
 
-        gameState.getRocket().render(gl);
+        renderEntity(gl, gameState.getRocket(), alpha);
         if (gameState.getRocket2() != null) {
-            gameState.getRocket2().render(gl);
+            renderEntity(gl, gameState.getRocket2(), alpha);
         }
 
+        spriteBatch.flush(gl);
+
         drawHUD(gl, gameState);
 
         if (gameState.isPaused()) {
             drawPauseScreen(gl);
         }
 
-        if (gameState.isGameOver() && !statsSaved) {
-            saveGameStats(gameState);
-            statsSaved = true;
-        }
-
         if (gameState.isGameOver()) {
             drawGameOverScreen(gl, gameState);
         }
@@ -148,34 +186,31 @@ public class GameRenderer implements GLEventListener {
         gl.glFlush();
     }
 
-    private int getPlayerRankByScore(String username, int currentScore) {
-        int rank = 1;
-
-        try {
-            Map<String, UserStatsManager.PlayerStats> allStats = statsManager.getAllStats();
+    // Sprites take the interpolation offset through the batch; anything still drawn directly gets it from the matrix.
+    private <T extends GameObject & Renderable> void renderEntity(GL gl, T entity, float alpha) {
+        float offsetX = entity.getInterpolatedX(alpha) - entity.getX();
+        float offsetY = entity.getInterpolatedY(alpha) - entity.getY();
 
-            if (allStats.isEmpty()) {
-                System.out.println("No player found");
-                return 1;
-            }
-
-            //Bkaren ben ella3eba
-            for (UserStatsManager.PlayerStats playerStats : allStats.values()) {
-                if (playerStats.highScore > currentScore) {
-                    rank++;
-                }
-            }
-
-            System.out.println("[RANK] Player: " + username +
-                    ", Score: " + currentScore +
-                    ", Rank: " + rank);
+        spriteBatch.setOffset(offsetX, offsetY);
+        gl.glPushMatrix();
+        gl.glTranslatef(offsetX, offsetY, 0);
+        entity.render(gl, spriteBatch);
+        gl.glPopMatrix();
+    }
 
-        } catch (Exception e) {
-            System.out.println("[RANK] Error calculating rank: " + e.getMessage());
-            e.printStackTrace();
+    private int getPlayerRankByScore(String username, int currentScore) {
+        if (statsManager.getTotalPlayers() == 0) {
+            System.out.println("No player found");
             return 1;
         }
 
+        //Bkaren ben ella3eba
+        int rank = statsManager.rankOf(currentScore);
+
+        System.out.println("[RANK] Player: " + username +
+                ", Score: " + currentScore +
+                ", Rank: " + rank);
+
         return rank;
     }
 
@@ -207,27 +242,23 @@ public class GameRenderer implements GLEventListener {
         gl.glVertex2f(0, Constants.WINDOW_HEIGHT);
         gl.glEnd();
 
-        String titleText;
-        float[] c;
-
         if (s.isVictory()) {
-            titleText = "VICTORY! MISSION ACCOMPLISHED";
-            c = new float[]{0.0f, 1.0f, 0.0f};
+            titleText.set("VICTORY! MISSION ACCOMPLISHED");
+            titleText.setColor(0.0f, 1.0f, 0.0f);
         } else {
-            titleText = "GAME OVER";
-            c = new float[]{1.0f, 0.0f, 0.0f};
+            titleText.set("GAME OVER");
+            titleText.setColor(1.0f, 0.0f, 0.0f);
         }
 
-        textRenderer.beginRendering(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-        textRenderer.setColor(c[0], c[1], c[2], 1.0f);
-        textRenderer.draw(titleText, Constants.WINDOW_WIDTH / 2 - 180, 400);
-        textRenderer.setColor(1.0f, 1.0f, 1.0f, 1.0f);
+        boolean coop = s.getRocket2() != null;
+        p1ScoreText.setVisible(coop);
+        p2ScoreText.setVisible(coop);
+        finalScoreText.setVisible(!coop);
+        rankText.setVisible(!coop);
 
-        if (s.getRocket2() != null) {
-            String p1ScoreText = "P1 SCORE: " + s.getScore();
-            String p2ScoreText = "P2 SCORE: " + s.getScorePlayer2();
-            textRenderer.draw(p1ScoreText, Constants.WINDOW_WIDTH / 2 - 100, 350);
-            textRenderer.draw(p2ScoreText, Constants.WINDOW_WIDTH / 2 - 100, 310);
+        if (coop) {
+            p1ScoreText.set(s.getScore());
+            p2ScoreText.set(s.getScorePlayer2());
         } else {
 
             int finalScore = s.getScore();
@@ -236,14 +267,12 @@ public class GameRenderer implements GLEventListener {
             String rankMedal = getRankMedal(playerRank);
             float[] rankColor = getRankColorByPosition(playerRank);
 
-            textRenderer.setColor(1.0f, 1.0f, 1.0f, 1.0f);
-            textRenderer.draw("FINAL SCORE: " + finalScore, Constants.WINDOW_WIDTH / 2 - 100, 350);
-
-            textRenderer.setColor(rankColor[0], rankColor[1], rankColor[2], 1.0f);
-            textRenderer.draw("YOUR RANK: " + rankMedal, Constants.WINDOW_WIDTH / 2 - 100, 320);
+            finalScoreText.set(finalScore);
+            rankText.set(rankMedal);
+            rankText.setColor(rankColor[0], rankColor[1], rankColor[2]);
         }
 
-        textRenderer.endRendering();
+        gameOverText.draw(gl);
 
         gl.glDisable(GL.GL_TEXTURE_2D);
 
@@ -254,7 +283,6 @@ public class GameRenderer implements GLEventListener {
         gl.glVertex2f(RESTART_BTN_X + BUTTON_WIDTH, RESTART_BTN_Y + BUTTON_HEIGHT);
         gl.glVertex2f(RESTART_BTN_X, RESTART_BTN_Y + BUTTON_HEIGHT);
         gl.glEnd();
-        drawSimpleText(gl, "PLAY AGAIN", RESTART_BTN_X + 40, RESTART_BTN_Y + 35);
 
         gl.glColor3f(0.8f, 0.2f, 0.2f);
         gl.glBegin(GL.GL_QUADS);
@@ -263,17 +291,7 @@ public class GameRenderer implements GLEventListener {
         gl.glVertex2f(MENU_BTN_X + BUTTON_WIDTH, MENU_BTN_Y + BUTTON_HEIGHT);
         gl.glVertex2f(MENU_BTN_X, MENU_BTN_Y + BUTTON_HEIGHT);
         gl.glEnd();
-        drawSimpleText(gl, "EXIT GAME", MENU_BTN_X + 45, MENU_BTN_Y + 35);
-    }
-
-    private void drawSimpleText(GL gl, String text, float x, float y) {
-        if (textRenderer == null) {
-            textRenderer = new TextRenderer(new Font("SansSerif", Font.BOLD, 24));
-        }
-        textRenderer.beginRendering(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
-        textRenderer.setColor(1.0f, 1.0f, 1.0f, 1.0f);
-        textRenderer.draw(text, (int) x, (int) (Constants.WINDOW_HEIGHT - y));
-        textRenderer.endRendering();
+        gameOverButtonText.draw(gl);
     }
 
     private void drawHeart(GL gl, float x, float y) {
@@ -409,17 +427,16 @@ public class GameRenderer implements GLEventListener {
         gl.glVertex2f(RESUME_BTN_X, RESUME_BTN_Y + BUTTON_HEIGHT);
         gl.glEnd();
 
-        drawSimpleText(gl, "GAME PAUSED", Constants.WINDOW_WIDTH / 2 - 80, 150);
-        drawSimpleText(gl, "RESUME", RESUME_BTN_X + 50, RESUME_BTN_Y + 35);
-        drawSimpleText(gl, "EXIT GAME", MENU_BTN_X + 35, MENU_BTN_Y + 35);
+        pauseText.draw(gl);
     }
 
     private void drawUpgradeMenu(GL gl) {
-        drawSimpleText(gl, "LEVEL UP! CHOOSE UPGRADE", 300, 200);
+        upgradeText.draw(gl);
     }
 
     private void drawLevelTransition(GL gl, GameState s) {
-        drawSimpleText(gl, "LEVEL " + (s.getLevel() + 1), 350, 300);
+        nextLevelText.set(s.getLevel() + 1);
+        transitionText.draw(gl);
     }
 
     private void drawStarField(GL gl) {
@@ -449,11 +466,12 @@ public class GameRenderer implements GLEventListener {
         SoundManager soundManager = SoundManager.getInstance();
         boolean isMuted = soundManager.isMuted();
 
-        drawSimpleText(gl, "SCORE: " + gameState.getScore(), 10, 30);
-        textRenderer.draw("HIGH SCORE: " + gameState.getHighScore(), 280, Constants.WINDOW_HEIGHT - 80);
-        drawSimpleText(gl, "LIVES: " + gameState.getLives(), 10, 60);
-        drawSimpleText(gl, "LEVEL: " + gameState.getLevel(), Constants.WINDOW_WIDTH / 2 - 50, 30);
-        drawSimpleText(gl, "P1: " + gameState.getUsername(), 10, 110);
+        // Slots only re-lay out when their value changes; all HUD text is drawn below in one call.
+        scoreText.set(gameState.getScore());
+        highScoreText.set(gameState.getHighScore());
+        livesText.set(gameState.getLives());
+        levelText.set(gameState.getLevel());
+        nameText.set(gameState.getUsername());
 
         for (int i = 0; i < gameState.getLives(); i++) {
             drawHeart(gl, 150 + i * 25, 50);
@@ -462,11 +480,16 @@ public class GameRenderer implements GLEventListener {
         drawHealthBar(gl, gameState.getRocket());
         drawShieldBar(gl, gameState.getRocket());
 
-        if (gameState.getRocket2() != null) {
+        boolean hasPlayer2 = gameState.getRocket2() != null;
+        score2Text.setVisible(hasPlayer2);
+        lives2Text.setVisible(hasPlayer2);
+        name2Text.setVisible(hasPlayer2);
+
+        if (hasPlayer2) {
             float p2X = Constants.WINDOW_WIDTH - 220;
-            drawSimpleText(gl, "SCORE: " + gameState.getScorePlayer2(), p2X, 30);
-            drawSimpleText(gl, "LIVES: " + gameState.getLivesPlayer2(), p2X, 60);
-            drawSimpleText(gl, "P2: " + gameState.getUsername2(), p2X, 110);
+            score2Text.set(gameState.getScorePlayer2());
+            lives2Text.set(gameState.getLivesPlayer2());
+            name2Text.set(gameState.getUsername2());
             drawHealthBar(gl, gameState.getRocket2(), p2X, 80);
 
             for (int i = 0; i < gameState.getLivesPlayer2(); i++) {
@@ -527,6 +550,8 @@ public class GameRenderer implements GLEventListener {
 
             gl.glEnable(GL.GL_TEXTURE_2D);
         }
+
+        hudText.draw(gl);
     }
 
     private void initializeStars() {
@@ -575,37 +600,4 @@ public class GameRenderer implements GLEventListener {
         return SoundManager.getInstance().isMuted();
     }
 
-    private void saveGameStats(GameState gameState) {
-        long endTime = System.currentTimeMillis();
-        long playTimeMs = endTime - gameStartTime;
-        long playTimeSeconds = playTimeMs / 1000;
-
-        String username = gameState.getUsername();
-        int finalScore = gameState.getScore();
-        boolean isVictory = gameState.isVictory();
-
-        statsManager.updatePlayerStats(username, finalScore, playTimeSeconds, isVictory);
-
-        System.out.println("GAME END: " + gameEngine.getGameTimeCalculator().getFormattedGameTime());
-        System.out.println("GAME END - Player: " + username);
-        System.out.println("GAME END - Final Score: " + finalScore);
-        System.out.println("GAME END - Play Time: " + formatPlayTime(playTimeSeconds));
-        System.out.println("GAME END - Victory: " + isVictory);
-        System.out.println("=== Leaderboard ===");
-        statsManager.printLeaderboard();
-    }
-
-    private String formatPlayTime(long seconds) {
-        long hours = seconds / 3600;
-        long minutes = (seconds % 3600) / 60;
-        long secs = seconds % 60;
-
-        if (hours > 0) {
-            return String.format("%02d:%02d:%02d", hours, minutes, secs);
-        } else if (minutes > 0) {
-            return String.format("%02d:%02d", minutes, secs);
-        } else {
-            return String.format("%d", secs);
-        }
-    }
 }
\ No newline at end of file
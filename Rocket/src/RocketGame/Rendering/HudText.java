@@ -0,0 +1,224 @@
+package RocketGame.Rendering;
+
+import com.sun.opengl.util.BufferUtil;
+
+import javax.media.opengl.GL;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A group of on-screen text slots drawn with the BitmapFont in a single
+ * glDrawArrays call. Each slot is a fixed label plus a value; setting the
+ * same value again costs a comparison, and only a changed value re-lays out
+ * that slot's quads. Numbers are formatted straight into a char buffer, so
+ * a steady HUD allocates nothing per frame.
+ */
+public class HudText {
+    private static final int FLOATS_PER_VERTEX = 8; // x, y, u, v, r, g, b, a
+    private static final int STRIDE = FLOATS_PER_VERTEX * BufferUtil.SIZEOF_FLOAT;
+
+    private final BitmapFont font;
+    private final List<Slot> slots = new ArrayList<>();
+    private boolean dirty = true;
+
+    private float[] vertices = new float[0];
+    private int vertexCount;
+    private FloatBuffer buffer;
+    private FloatBuffer texCoordView;
+    private FloatBuffer colorView;
+
+    public class Slot {
+        private final char[] label;
+        private final float x;
+        private final float y;
+        private final float[] color;
+
+        private char[] text = new char[32];
+        private int length;
+        private boolean visible = true;
+
+        private boolean hasNumber;
+        private int number;
+        private String string;
+
+        private float[] mesh = new float[0];
+        private int meshFloats;
+
+        Slot(String label, float x, float y, float[] color) {
+            this.label = label.toCharArray();
+            this.x = x;
+            this.y = y;
+            this.color = color;
+            setText();
+        }
+
+        public void set(int value) {
+            if (visible && hasNumber && number == value) return;
+            hasNumber = true;
+            number = value;
+            string = null;
+            visible = true;
+
+            setText();
+            appendNumber(value);
+            changed();
+        }
+
+        public void set(String value) {
+            if (value == null) value = "";
+            if (visible && !hasNumber && value.equals(string)) return;
+            hasNumber = false;
+            string = value;
+            visible = true;
+
+            setText();
+            for (int i = 0; i < value.length(); i++) {
+                append(value.charAt(i));
+            }
+            changed();
+        }
+
+        public void setColor(float r, float g, float b) {
+            if (color[0] == r && color[1] == g && color[2] == b) return;
+            color[0] = r;
+            color[1] = g;
+            color[2] = b;
+            changed();
+        }
+
+        public void setVisible(boolean visible) {
+            if (this.visible == visible) return;
+            this.visible = visible;
+            dirty = true;
+        }
+
+        private void setText() {
+            length = 0;
+            for (char c : label) {
+                append(c);
+            }
+        }
+
+        private void append(char c) {
+            if (length == text.length) {
+                text = Arrays.copyOf(text, length * 2);
+            }
+            text[length++] = c;
+        }
+
+        private void appendNumber(int value) {
+            if (value == 0) {
+                append('0');
+                return;
+            }
+            long v = value;
+            if (v < 0) {
+                append('-');
+                v = -v;
+            }
+            int start = length;
+            while (v > 0) {
+                append((char) ('0' + v % 10));
+                v /= 10;
+            }
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                char c = text[i];
+                text[i] = text[j];
+                text[j] = c;
+            }
+        }
+
+        private void changed() {
+            meshFloats = BitmapFont.printableCount(text, length) * 4 * FLOATS_PER_VERTEX;
+            if (mesh.length < meshFloats) {
+                mesh = new float[meshFloats];
+            }
+            font.layout(text, length, x, y, color, mesh, 0);
+            dirty = true;
+        }
+    }
+
+    public HudText() {
+        this(BitmapFont.getInstance());
+    }
+
+    public HudText(BitmapFont font) {
+        this.font = font;
+    }
+
+    // y is the text baseline, as with TextRenderer.
+    public Slot add(String label, float x, float y, float r, float g, float b) {
+        Slot slot = new Slot(label, x, y, new float[]{r, g, b, 1.0f});
+        slot.changed();
+        slots.add(slot);
+        return slot;
+    }
+
+    public Slot add(String label, float x, float y) {
+        return add(label, x, y, 1.0f, 1.0f, 1.0f);
+    }
+
+    public void draw(GL gl) {
+        if (dirty) {
+            rebuild();
+        }
+        if (vertexCount == 0) return;
+
+        gl.glEnable(GL.GL_TEXTURE_2D);
+        gl.glBindTexture(GL.GL_TEXTURE_2D, font.getTexture(gl));
+        gl.glEnable(GL.GL_BLEND);
+        gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
+        gl.glTexEnvi(GL.GL_TEXTURE_ENV, GL.GL_TEXTURE_ENV_MODE, GL.GL_MODULATE);
+
+        gl.glEnableClientState(GL.GL_VERTEX_ARRAY);
+        gl.glEnableClientState(GL.GL_TEXTURE_COORD_ARRAY);
+        gl.glEnableClientState(GL.GL_COLOR_ARRAY);
+        buffer.rewind();
+        gl.glVertexPointer(2, GL.GL_FLOAT, STRIDE, buffer);
+        gl.glTexCoordPointer(2, GL.GL_FLOAT, STRIDE, texCoordView);
+        gl.glColorPointer(4, GL.GL_FLOAT, STRIDE, colorView);
+        gl.glDrawArrays(GL.GL_QUADS, 0, vertexCount);
+        gl.glDisableClientState(GL.GL_COLOR_ARRAY);
+        gl.glDisableClientState(GL.GL_TEXTURE_COORD_ARRAY);
+        gl.glDisableClientState(GL.GL_VERTEX_ARRAY);
+
+        gl.glTexEnvi(GL.GL_TEXTURE_ENV, GL.GL_TEXTURE_ENV_MODE, GL.GL_REPLACE);
+        gl.glColor3f(1.0f, 1.0f, 1.0f);
+    }
+
+    // Concatenates the visible slot meshes into the buffer that is drawn.
+    private void rebuild() {
+        int floats = 0;
+        for (Slot slot : slots) {
+            if (slot.visible) floats += slot.meshFloats;
+        }
+        if (vertices.length < floats) {
+            vertices = new float[floats];
+        }
+
+        int o = 0;
+        for (Slot slot : slots) {
+            if (!slot.visible) continue;
+            System.arraycopy(slot.mesh, 0, vertices, o, slot.meshFloats);
+            o += slot.meshFloats;
+        }
+        vertexCount = floats / FLOATS_PER_VERTEX;
+
+        if (buffer == null || buffer.capacity() < floats) {
+            buffer = BufferUtil.newFloatBuffer(Math.max(floats, 64 * FLOATS_PER_VERTEX));
+
+            FloatBuffer view = buffer.duplicate();
+            view.position(2);
+            texCoordView = view.slice();
+
+            view = buffer.duplicate();
+            view.position(4);
+            colorView = view.slice();
+        }
+        buffer.clear();
+        buffer.put(vertices, 0, floats);
+        dirty = false;
+    }
+}
@@ -0,0 +1,7 @@
+package RocketGame.Rendering;
+
+import javax.media.opengl.GL;
+
+public interface Renderable {
+    void render(GL gl, SpriteBatch batch);
+}
@@ -0,0 +1,64 @@
+package RocketGame.Rendering;
+
+import javax.media.opengl.GL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Display lists for the procedural shapes drawn in immediate mode. Each shape
+ * is compiled the first time its key is drawn and replayed with one
+ * glCallList afterwards, so per-instance work is just the transform (and a
+ * colour, for shapes that leave it to the caller). Keys name the shape and
+ * everything its geometry depends on, e.g. "enemy:SHOOTER:40x40".
+ *
+ * Lists live as long as the GL context, like the textures; dispose() frees
+ * them at shutdown.
+ */
+public class ShapeCache {
+    public interface Shape {
+        void build(GL gl);
+    }
+
+    private static ShapeCache instance;
+
+    private final Map<String, Integer> lists = new HashMap<>();
+
+    public static synchronized ShapeCache getInstance() {
+        if (instance == null) {
+            instance = new ShapeCache();
+        }
+        return instance;
+    }
+
+    private ShapeCache() {
+    }
+
+    public void draw(GL gl, String key, Shape shape) {
+        Integer list = lists.get(key);
+        if (list == null) {
+            list = gl.glGenLists(1);
+            if (list == 0) {
+                // No list available; draw directly rather than not at all.
+                shape.build(gl);
+                return;
+            }
+            gl.glNewList(list, GL.GL_COMPILE);
+            shape.build(gl);
+            gl.glEndList();
+            lists.put(key, list);
+        }
+        gl.glCallList(list);
+    }
+
+    public int getListCount() {
+        return lists.size();
+    }
+
+    // Must run with the game's GL context current.
+    public void dispose(GL gl) {
+        for (int list : lists.values()) {
+            gl.glDeleteLists(list, 1);
+        }
+        lists.clear();
+    }
+}
@@ -0,0 +1,247 @@
+package RocketGame.Rendering;
+
+import com.sun.opengl.util.BufferUtil;
+
+import javax.media.opengl.GL;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * Collects the frame's sprites as triangles and draws them at flush time,
+ * sorted by layer, blend mode and texture so each run of equal state is a
+ * single glDrawArrays call. Within a layer, untextured quads come first and
+ * sprites sharing a texture keep their submission order.
+ *
+ * Positions are in screen space plus the current offset, which the renderer
+ * sets to the entity's interpolation offset before calling render.
+ */
+public class SpriteBatch {
+    public static final int LAYER_OBSTACLES = 0;
+    public static final int LAYER_OBSTACLE_BARS = 1;
+    public static final int LAYER_BOSS = 2;
+    public static final int LAYER_BULLETS = 3;
+    public static final int LAYER_ROCKETS = 4;
+    public static final int LAYER_OVERLAY = 5;
+
+    public static final int BLEND_OPAQUE = 0;
+    public static final int BLEND_ALPHA = 1;
+
+    private static final int FLOATS_PER_VERTEX = 8; // x, y, u, v, r, g, b, a
+    private static final int STRIDE = FLOATS_PER_VERTEX * BufferUtil.SIZEOF_FLOAT;
+
+    private static final int DISC_SEGMENTS = 32;
+    private static final float[] DISC_COS = new float[DISC_SEGMENTS + 1];
+    private static final float[] DISC_SIN = new float[DISC_SEGMENTS + 1];
+
+    static {
+        for (int i = 0; i <= DISC_SEGMENTS; i++) {
+            double angle = 2.0 * Math.PI * i / DISC_SEGMENTS;
+            DISC_COS[i] = (float) Math.cos(angle);
+            DISC_SIN[i] = (float) Math.sin(angle);
+        }
+    }
+
+    private float[] vertices = new float[4096 * FLOATS_PER_VERTEX];
+    private int vertexCount;
+
+    private long[] keys = new long[256];
+    private int[] spriteStart = new int[256];
+    private int[] spriteVertices = new int[256];
+    private int[] spriteTexture = new int[256];
+    private int[] spriteBlend = new int[256];
+    private int spriteCount;
+
+    private FloatBuffer buffer;
+    private FloatBuffer texCoordView;
+    private FloatBuffer colorView;
+
+    private float offsetX;
+    private float offsetY;
+
+    private int drawCalls;
+
+    public void begin() {
+        vertexCount = 0;
+        spriteCount = 0;
+        offsetX = 0;
+        offsetY = 0;
+    }
+
+    public void setOffset(float offsetX, float offsetY) {
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+    }
+
+    public void quad(int layer, int blend, float x, float y, float w, float h,
+                     float r, float g, float b, float a) {
+        quad(layer, 0, blend, x, y, w, h, 0, 0, 0, 0, r, g, b, a);
+    }
+
+    public void quad(int layer, int texture, int blend, float x, float y, float w, float h,
+                     float u0, float v0, float u1, float v1,
+                     float r, float g, float b, float a) {
+        beginSprite(layer, texture, blend, 6);
+
+        float x0 = x + offsetX;
+        float y0 = y + offsetY;
+        float x1 = x0 + w;
+        float y1 = y0 + h;
+
+        vertex(x0, y0, u0, v0, r, g, b, a);
+        vertex(x1, y0, u1, v0, r, g, b, a);
+        vertex(x1, y1, u1, v1, r, g, b, a);
+
+        vertex(x0, y0, u0, v0, r, g, b, a);
+        vertex(x1, y1, u1, v1, r, g, b, a);
+        vertex(x0, y1, u0, v1, r, g, b, a);
+    }
+
+    // Textured circle with the texture's centre at (cx, cy), mapped like the old GL_TRIANGLE_FAN planets.
+    public void disc(int layer, int texture, int blend, float cx, float cy, float radius,
+                     float u0, float v0, float u1, float v1,
+                     float r, float g, float b, float a) {
+        beginSprite(layer, texture, blend, DISC_SEGMENTS * 3);
+
+        float x = cx + offsetX;
+        float y = cy + offsetY;
+        float uc = (u0 + u1) / 2;
+        float vc = (v0 + v1) / 2;
+        float uh = (u1 - u0) / 2;
+        float vh = (v1 - v0) / 2;
+
+        for (int i = 0; i < DISC_SEGMENTS; i++) {
+            vertex(x, y, uc, vc, r, g, b, a);
+            vertex(x + radius * DISC_COS[i], y + radius * DISC_SIN[i],
+                    uc + uh * DISC_COS[i], vc + vh * DISC_SIN[i], r, g, b, a);
+            vertex(x + radius * DISC_COS[i + 1], y + radius * DISC_SIN[i + 1],
+                    uc + uh * DISC_COS[i + 1], vc + vh * DISC_SIN[i + 1], r, g, b, a);
+        }
+    }
+
+    public void flush(GL gl) {
+        drawCalls = 0;
+        if (spriteCount == 0) return;
+
+        ensureBuffer();
+        Arrays.sort(keys, 0, spriteCount);
+
+        gl.glEnableClientState(GL.GL_VERTEX_ARRAY);
+        gl.glEnableClientState(GL.GL_TEXTURE_COORD_ARRAY);
+        gl.glEnableClientState(GL.GL_COLOR_ARRAY);
+        gl.glTexEnvi(GL.GL_TEXTURE_ENV, GL.GL_TEXTURE_ENV_MODE, GL.GL_MODULATE);
+
+        int run = 0;
+        while (run < spriteCount) {
+            int first = (int) keys[run];
+            int texture = spriteTexture[first];
+            int blend = spriteBlend[first];
+
+            buffer.clear();
+            int runVertices = 0;
+            int next = run;
+            while (next < spriteCount) {
+                int sprite = (int) keys[next];
+                if (spriteTexture[sprite] != texture || spriteBlend[sprite] != blend) break;
+
+                buffer.put(vertices, spriteStart[sprite] * FLOATS_PER_VERTEX,
+                        spriteVertices[sprite] * FLOATS_PER_VERTEX);
+                runVertices += spriteVertices[sprite];
+                next++;
+            }
+
+            drawRun(gl, texture, blend, runVertices);
+            run = next;
+        }
+
+        gl.glDisableClientState(GL.GL_COLOR_ARRAY);
+        gl.glDisableClientState(GL.GL_TEXTURE_COORD_ARRAY);
+        gl.glDisableClientState(GL.GL_VERTEX_ARRAY);
+
+        gl.glTexEnvi(GL.GL_TEXTURE_ENV, GL.GL_TEXTURE_ENV_MODE, GL.GL_REPLACE);
+        gl.glEnable(GL.GL_TEXTURE_2D);
+        gl.glEnable(GL.GL_BLEND);
+        gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
+        gl.glColor3f(1.0f, 1.0f, 1.0f);
+
+        begin();
+    }
+
+    private void drawRun(GL gl, int texture, int blend, int runVertices) {
+        if (texture != 0) {
+            gl.glEnable(GL.GL_TEXTURE_2D);
+            gl.glBindTexture(GL.GL_TEXTURE_2D, texture);
+        } else {
+            gl.glDisable(GL.GL_TEXTURE_2D);
+        }
+
+        if (blend == BLEND_ALPHA) {
+            gl.glEnable(GL.GL_BLEND);
+            gl.glBlendFunc(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA);
+        } else {
+            gl.glDisable(GL.GL_BLEND);
+        }
+
+        buffer.rewind();
+        gl.glVertexPointer(2, GL.GL_FLOAT, STRIDE, buffer);
+        gl.glTexCoordPointer(2, GL.GL_FLOAT, STRIDE, texCoordView);
+        gl.glColorPointer(4, GL.GL_FLOAT, STRIDE, colorView);
+        gl.glDrawArrays(GL.GL_TRIANGLES, 0, runVertices);
+        drawCalls++;
+    }
+
+    private void ensureBuffer() {
+        if (buffer != null && buffer.capacity() >= vertexCount * FLOATS_PER_VERTEX) return;
+
+        buffer = BufferUtil.newFloatBuffer(vertices.length);
+
+        FloatBuffer view = buffer.duplicate();
+        view.position(2);
+        texCoordView = view.slice();
+
+        view = buffer.duplicate();
+        view.position(4);
+        colorView = view.slice();
+    }
+
+    // Key layout: layer (8 bits) | blend (4 bits) | texture (20 bits) | sprite index (32 bits).
+    private void beginSprite(int layer, int texture, int blend, int count) {
+        if (spriteCount == keys.length) {
+            int size = spriteCount * 2;
+            keys = Arrays.copyOf(keys, size);
+            spriteStart = Arrays.copyOf(spriteStart, size);
+            spriteVertices = Arrays.copyOf(spriteVertices, size);
+            spriteTexture = Arrays.copyOf(spriteTexture, size);
+            spriteBlend = Arrays.copyOf(spriteBlend, size);
+        }
+        if ((vertexCount + count) * FLOATS_PER_VERTEX > vertices.length) {
+            vertices = Arrays.copyOf(vertices, Math.max(vertices.length * 2, (vertexCount + count) * FLOATS_PER_VERTEX));
+        }
+
+        int sprite = spriteCount++;
+        keys[sprite] = ((long) (layer & 0xFF) << 56)
+                | ((long) (blend & 0xF) << 52)
+                | ((long) (texture & 0xFFFFF) << 32)
+                | sprite;
+        spriteStart[sprite] = vertexCount;
+        spriteVertices[sprite] = count;
+        spriteTexture[sprite] = texture;
+        spriteBlend[sprite] = blend;
+    }
+
+    private void vertex(float x, float y, float u, float v, float r, float g, float b, float a) {
+        int i = vertexCount * FLOATS_PER_VERTEX;
+        vertices[i] = x;
+        vertices[i + 1] = y;
+        vertices[i + 2] = u;
+        vertices[i + 3] = v;
+        vertices[i + 4] = r;
+        vertices[i + 5] = g;
+        vertices[i + 6] = b;
+        vertices[i + 7] = a;
+        vertexCount++;
+    }
+
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+}
@@ -1,151 +1,367 @@
 package RocketGame.Texture;
 
+import com.sun.opengl.util.BufferUtil;
+
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferByte;
-import java.awt.image.DataBufferInt;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
 
 /**
  * Windows bitmap file loader.
+ *
+ * Reads the file through a channel and decodes one row at a time straight
+ * into the destination buffer, bottom row first like TextureReader, without
+ * an intermediate BufferedImage. Supports uncompressed 8, 24 and 32-bit
+ * (BGRA) files and 8-bit BI_RLE8. Truncated files throw an EOFException
+ * instead of hanging.
  * @author Abdul Bezrati
  * @author Pepijn Van Eeckhoudt
  */
 public class BitmapLoader {
+    private static final int BI_RGB = 0;
+    private static final int BI_RLE8 = 1;
+    private static final int BI_BITFIELDS = 3;
+
+    private static final int FILE_HEADER_LENGTH = 14;
+    private static final int INFO_HEADER_LENGTH = 40;
+
     public static BufferedImage loadBitmap(String file) throws IOException {
-        BufferedImage image;
-        InputStream input = null;
-        try {
-            input = ResourceRetriever.getResourceAsStream(file);
-
-            int bitmapFileHeaderLength = 14;
-            int bitmapInfoHeaderLength = 40;
-
-            byte bitmapFileHeader[] = new byte[bitmapFileHeaderLength];
-            byte bitmapInfoHeader[] = new byte[bitmapInfoHeaderLength];
-
-            input.read(bitmapFileHeader, 0, bitmapFileHeaderLength);
-            input.read(bitmapInfoHeader, 0, bitmapInfoHeaderLength);
-
-            int nSize = bytesToInt(bitmapFileHeader, 2);
-            int nWidth = bytesToInt(bitmapInfoHeader, 4);
-            int nHeight = bytesToInt(bitmapInfoHeader, 8);
-            int nBiSize = bytesToInt(bitmapInfoHeader, 0);
-            int nPlanes = bytesToShort(bitmapInfoHeader, 12);
-            int nBitCount = bytesToShort(bitmapInfoHeader, 14);
-            int nSizeImage = bytesToInt(bitmapInfoHeader, 20);
-            int nCompression = bytesToInt(bitmapInfoHeader, 16);
-            int nColoursUsed = bytesToInt(bitmapInfoHeader, 32);
-            int nXPixelsMeter = bytesToInt(bitmapInfoHeader, 24);
-            int nYPixelsMeter = bytesToInt(bitmapInfoHeader, 28);
-            int nImportantColours = bytesToInt(bitmapInfoHeader, 36);
-
-            if (nBitCount == 24) {
-                image = read24BitBitmap(nSizeImage, nHeight, nWidth, input);
-            } else if (nBitCount == 8) {
-                image = read8BitBitmap(nColoursUsed, nBitCount, nSizeImage, nWidth, nHeight, input);
-            } else {
-                System.out.println("Not a 24-bit or 8-bit Windows Bitmap, aborting...");
-                image = null;
-            }
-        } finally {
-            try {
-                if (input != null)
-                    input.close();
-            } catch (IOException e) {
+        TextureReader.Texture texture = loadBitmapPixels(file, true, null);
+        int width = texture.getWidth();
+        int height = texture.getHeight();
+        ByteBuffer pixels = texture.getPixels();
+
+        // RGBA bottom-up -> ABGR top-down
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_4BYTE_ABGR);
+        byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        for (int row = 0; row < height; row++) {
+            int src = (height - 1 - row) * width * 4;
+            int dst = row * width * 4;
+            for (int col = 0; col < width; col++, src += 4, dst += 4) {
+                data[dst] = pixels.get(src + 3);
+                data[dst + 1] = pixels.get(src + 2);
+                data[dst + 2] = pixels.get(src + 1);
+                data[dst + 3] = pixels.get(src);
             }
         }
         return image;
     }
 
-    private static BufferedImage read8BitBitmap(int nColoursUsed, int nBitCount, int nSizeImage, int nWidth, int nHeight, InputStream input) throws IOException {
-        int nNumColors = (nColoursUsed > 0) ? nColoursUsed : (1 & 0xff) << nBitCount;
+    /**
+     * Decodes a bitmap into bottom-up RGB or RGBA bytes, the layout
+     * TextureReader.readPixels produces. {@code reuse} is filled instead of
+     * allocating when it is large enough.
+     */
+    public static TextureReader.Texture loadBitmapPixels(String file, boolean storeAlphaChannel, ByteBuffer reuse) throws IOException {
+        try (ReadableByteChannel channel = Channels.newChannel(ResourceRetriever.getResourceAsStream(file))) {
+            Input input = new Input(channel, file);
+
+            ByteBuffer header = input.require(FILE_HEADER_LENGTH + INFO_HEADER_LENGTH);
+            if (header.get() != 'B' || header.get() != 'M') {
+                throw new IOException("Not a Windows Bitmap: " + file);
+            }
+            header.getInt();                        // file size
+            header.getInt();                        // reserved
+            int pixelOffset = header.getInt();
+
+            int infoSize = header.getInt();
+            int width = header.getInt();
+            int height = header.getInt();
+            int planes = header.getShort();
+            int bitCount = header.getShort();
+            int compression = header.getInt();
+            header.getInt();                        // image size, often 0
+            header.getInt();                        // x pixels per metre
+            header.getInt();                        // y pixels per metre
+            int coloursUsed = header.getInt();
+            header.getInt();                        // important colours
+            int consumed = FILE_HEADER_LENGTH + INFO_HEADER_LENGTH;
+
+            boolean topDown = height < 0;
+            height = Math.abs(height);
+            if (infoSize < INFO_HEADER_LENGTH || planes != 1 || width <= 0 || height == 0) {
+                throw new IOException("Unsupported bitmap header in " + file);
+            }
+            boolean rle8 = compression == BI_RLE8 && bitCount == 8;
+            boolean supported = compression == BI_RGB && (bitCount == 8 || bitCount == 24 || bitCount == 32)
+                    || compression == BI_BITFIELDS && bitCount == 32
+                    || rle8;
+            if (!supported) {
+                throw new IOException("Not an 8, 24 or 32-bit Windows Bitmap (" + bitCount + " bpp, compression "
+                        + compression + "): " + file);
+            }
+
+            if (compression == BI_BITFIELDS) {
+                header = input.require(12);
+                int red = header.getInt();
+                int green = header.getInt();
+                int blue = header.getInt();
+                consumed += 12;
+                if (red != 0x00FF0000 || green != 0x0000FF00 || blue != 0x000000FF) {
+                    throw new IOException("Unsupported bitmap channel masks in " + file);
+                }
+            }
+            // V4/V5 headers carry extra colour space fields we do not need
+            // (for those the BI_BITFIELDS masks above were part of the header already)
+            int extra = Math.max(0, FILE_HEADER_LENGTH + infoSize - consumed);
+            input.skip(extra);
+            consumed += extra;
+
+            int[] palette = null;
+            if (bitCount == 8) {
+                int colours = coloursUsed > 0 && coloursUsed <= 256 ? coloursUsed : 256;
+                palette = new int[256];
+                header = input.require(colours * 4);
+                for (int n = 0; n < colours; n++) {
+                    int b = header.get() & 0xff;
+                    int g = header.get() & 0xff;
+                    int r = header.get() & 0xff;
+                    header.get();
+                    palette[n] = 0xff000000 | r << 16 | g << 8 | b;
+                }
+                consumed += colours * 4;
+            }
+
+            if (pixelOffset > consumed) {
+                input.skip(pixelOffset - consumed);
+            }
+
+            int bytesPerPixel = storeAlphaChannel ? 4 : 3;
+            long size = (long) width * height * bytesPerPixel;
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Bitmap too large: " + file);
+            }
+
+            ByteBuffer pixels;
+            if (reuse != null && reuse.capacity() >= size) {
+                pixels = reuse;
+                pixels.clear();
+            } else {
+                pixels = BufferUtil.newByteBuffer((int) size);
+            }
 
-        if (nSizeImage == 0) {
-            nSizeImage = ((((nWidth * nBitCount) + 31) & ~31) >> 3);
-            nSizeImage *= nHeight;
+            Output output = new Output(pixels, width, height, topDown, storeAlphaChannel);
+            if (rle8) {
+                readRle8(input, output, palette);
+            } else if (bitCount == 8) {
+                read8Bit(input, output, palette);
+            } else if (bitCount == 24) {
+                read24Bit(input, output);
+            } else {
+                read32Bit(input, output);
+            }
+
+            pixels.position(0);
+            pixels.limit((int) size);
+            return new TextureReader.Texture(pixels, width, height);
         }
+    }
 
-        int npalette[] = new int[nNumColors];
-        byte bpalette[] = new byte[nNumColors * 4];
-        readBuffer(input, bpalette);
-        int nindex8 = 0;
+    private static void read8Bit(Input input, Output output, int[] palette) throws IOException {
+        int stride = (output.width + 3) & ~3;
+        for (int row = 0; row < output.height; row++) {
+            ByteBuffer in = input.require(stride);
+            int start = in.position();
+            for (int col = 0; col < output.width; col++) {
+                output.pixel(col, palette[in.get(start + col) & 0xff]);
+            }
+            in.position(start + stride);
+            output.flushRow(row);
+        }
+    }
 
-        for (int n = 0; n < nNumColors; n++) {
-            npalette[n] = (255 & 0xff) << 24 |
-                    (bpalette[nindex8 + 2] & 0xff) << 16 |
-                    (bpalette[nindex8 + 1] & 0xff) << 8 |
-                    (bpalette[nindex8 + 0] & 0xff);
+    private static void read24Bit(Input input, Output output) throws IOException {
+        int stride = (output.width * 3 + 3) & ~3;
+        for (int row = 0; row < output.height; row++) {
+            ByteBuffer in = input.require(stride);
+            int p = in.position();
+            for (int col = 0; col < output.width; col++, p += 3) {
+                output.pixel(col, 0xff000000 | (in.get(p + 2) & 0xff) << 16 | (in.get(p + 1) & 0xff) << 8 | (in.get(p) & 0xff));
+            }
+            in.position(in.position() + stride);
+            output.flushRow(row);
+        }
+    }
 
-            nindex8 += 4;
+    // BGRA rows. Writers that leave the alpha byte at 0 everywhere mean "no alpha", so that case comes out opaque.
+    private static void read32Bit(Input input, Output output) throws IOException {
+        int stride = output.width * 4;
+        int alphaSeen = 0;
+        for (int row = 0; row < output.height; row++) {
+            ByteBuffer in = input.require(stride);
+            int p = in.position();
+            for (int col = 0; col < output.width; col++, p += 4) {
+                int a = in.get(p + 3) & 0xff;
+                alphaSeen |= a;
+                output.pixel(col, a << 24 | (in.get(p + 2) & 0xff) << 16 | (in.get(p + 1) & 0xff) << 8 | (in.get(p) & 0xff));
+            }
+            in.position(p);
+            output.flushRow(row);
+        }
+        if (alphaSeen == 0) {
+            output.makeOpaque();
         }
+    }
 
-        int npad8 = (nSizeImage / nHeight) - nWidth;
-        BufferedImage bufferedImage = new BufferedImage(nWidth, nHeight, BufferedImage.TYPE_INT_ARGB);
-        DataBufferInt dataBufferByte = ((DataBufferInt) bufferedImage.getRaster().getDataBuffer());
-        int[][] bankData = dataBufferByte.getBankData();
-        byte bdata[] = new byte[(nWidth + npad8) * nHeight];
+    // Pixels the encoding skips with deltas or early line ends stay palette entry 0.
+    private static void readRle8(Input input, Output output, int[] palette) throws IOException {
+        int row = 0;
+        int col = 0;
+        output.fillRow(palette[0]);
 
-        readBuffer(input, bdata);
-        nindex8 = 0;
+        while (row < output.height) {
+            ByteBuffer in = input.require(2);
+            int count = in.get() & 0xff;
+            int value = in.get() & 0xff;
 
-        for (int j8 = nHeight - 1; j8 >= 0; j8--) {
-            for (int i8 = 0; i8 < nWidth; i8++) {
-                bankData[0][j8 * nWidth + i8] = npalette[((int) bdata[nindex8] & 0xff)];
-                nindex8++;
+            if (count > 0) {
+                if (col + count > output.width) {
+                    throw new IOException("Corrupt RLE8 run in " + input.name);
+                }
+                for (int i = 0; i < count; i++) {
+                    output.pixel(col++, palette[value]);
+                }
+            } else if (value == 0) {                // end of line
+                output.flushRow(row++);
+                output.fillRow(palette[0]);
+                col = 0;
+            } else if (value == 1) {                // end of bitmap
+                break;
+            } else if (value == 2) {                // delta
+                in = input.require(2);
+                int dx = in.get() & 0xff;
+                int dy = in.get() & 0xff;
+                for (int i = 0; i < dy && row < output.height; i++) {
+                    output.flushRow(row++);
+                    output.fillRow(palette[0]);
+                }
+                col += dx;
+                if (col > output.width) {
+                    throw new IOException("Corrupt RLE8 delta in " + input.name);
+                }
+            } else {                                // absolute run, padded to a 16-bit boundary
+                int padded = (value + 1) & ~1;
+                if (col + value > output.width) {
+                    throw new IOException("Corrupt RLE8 run in " + input.name);
+                }
+                in = input.require(padded);
+                for (int i = 0; i < value; i++) {
+                    output.pixel(col++, palette[in.get() & 0xff]);
+                }
+                if (padded > value) {
+                    in.get();
+                }
             }
-            nindex8 += npad8;
         }
 
-        return bufferedImage;
+        // Rows after an early end of bitmap
+        while (row < output.height) {
+            output.flushRow(row++);
+            output.fillRow(palette[0]);
+        }
     }
 
-    private static BufferedImage read24BitBitmap(int nSizeImage, int nHeight, int nWidth, InputStream input) throws IOException {
-        int npad = (nSizeImage / nHeight) - nWidth * 3;
-        if (npad == 4 || npad < 0)
-            npad = 0;
-        int nindex = 0;
-        BufferedImage bufferedImage = new BufferedImage(nWidth, nHeight, BufferedImage.TYPE_4BYTE_ABGR);
-        DataBufferByte dataBufferByte = ((DataBufferByte) bufferedImage.getRaster().getDataBuffer());
-        byte[][] bankData = dataBufferByte.getBankData();
-        byte brgb[] = new byte[(nWidth + npad) * 3 * nHeight];
+    // Little-endian window over the channel. require() refills it, or fails on EOF, and returns the
+    // buffer to read from, which is replaced by a larger one for rows longer than the window.
+    private static class Input {
+        final ReadableByteChannel channel;
+        final String name;
+        ByteBuffer buffer;
+
+        Input(ReadableByteChannel channel, String name) {
+            this.channel = channel;
+            this.name = name;
+            this.buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+            this.buffer.flip();
+        }
 
-        readBuffer(input, brgb);
+        ByteBuffer require(int count) throws IOException {
+            if (buffer.remaining() >= count) return buffer;
 
-        for (int j = nHeight - 1; j >= 0; j--) {
-            for (int i = 0; i < nWidth; i++) {
-                int base = (j * nWidth + i) * 4;
-                bankData[0][base] = (byte) 255;
-                bankData[0][base + 1] = brgb[nindex];
-                bankData[0][base + 2] = brgb[nindex + 1];
-                bankData[0][base + 3] = brgb[nindex + 2];
-                nindex += 3;
+            if (count > buffer.capacity()) {
+                ByteBuffer larger = ByteBuffer.allocate(count).order(ByteOrder.LITTLE_ENDIAN);
+                larger.put(buffer);
+                buffer = larger;
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < count) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Truncated bitmap: " + name);
+                }
             }
-            nindex += npad;
+            buffer.flip();
+            return buffer;
         }
 
-        return bufferedImage;
+        void skip(int count) throws IOException {
+            while (count > 0) {
+                int step = Math.min(count, buffer.capacity());
+                require(step);
+                buffer.position(buffer.position() + step);
+                count -= step;
+            }
+        }
     }
 
-    private static int bytesToInt(byte[] bytes, int index) {
-        return (bytes[index + 3] & 0xff) << 24 |
-                (bytes[index + 2] & 0xff) << 16 |
-                (bytes[index + 1] & 0xff) << 8 |
-                bytes[index + 0] & 0xff;
-    }
+    // Builds one row of RGB(A) bytes and puts it at its place in the destination.
+    private static class Output {
+        final ByteBuffer pixels;
+        final int width;
+        final int height;
+        final boolean topDown;
+        final boolean alpha;
+        final int bytesPerPixel;
+        final byte[] row;
 
-    private static short bytesToShort(byte[] bytes, int index) {
-        return (short) (((bytes[index + 1] & 0xff) << 8) |
-                (bytes[index + 0] & 0xff));
-    }
+        Output(ByteBuffer pixels, int width, int height, boolean topDown, boolean alpha) {
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+            this.topDown = topDown;
+            this.alpha = alpha;
+            this.bytesPerPixel = alpha ? 4 : 3;
+            this.row = new byte[width * bytesPerPixel];
+        }
+
+        void pixel(int col, int argb) {
+            int o = col * bytesPerPixel;
+            row[o] = (byte) (argb >> 16);
+            row[o + 1] = (byte) (argb >> 8);
+            row[o + 2] = (byte) argb;
+            if (alpha) {
+                row[o + 3] = (byte) (argb >>> 24);
+            }
+        }
 
-    private static void readBuffer(InputStream in, byte[] buffer) throws IOException {
-        int bytesRead = 0;
-        int bytesToRead = buffer.length;
-        while (bytesToRead > 0) {
-            int read = in.read(buffer, bytesRead, bytesToRead);
-            bytesRead += read;
-            bytesToRead -= read;
+        void fillRow(int argb) {
+            if (argb == 0) {
+                Arrays.fill(row, (byte) 0);
+                return;
+            }
+            for (int col = 0; col < width; col++) {
+                pixel(col, argb);
+            }
+        }
+
+        // Bitmap rows are stored bottom-up unless the height was negative.
+        void flushRow(int fileRow) {
+            int target = topDown ? height - 1 - fileRow : fileRow;
+            pixels.position(target * row.length);
+            pixels.put(row);
+        }
+
+        void makeOpaque() {
+            if (!alpha) return;
+            for (int i = 3; i < width * height * 4; i += 4) {
+                pixels.put(i, (byte) 0xff);
+            }
         }
     }
 }
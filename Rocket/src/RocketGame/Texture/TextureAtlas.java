@@ -0,0 +1,625 @@
+package RocketGame.Texture;
+
+import com.sun.opengl.util.BufferUtil;
+
+import javax.imageio.ImageIO;
+import javax.media.opengl.GL;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Packs the game's small images into a few shared GL textures so sprites of
+ * different entity types can be drawn from the same texture.
+ *
+ * Images are placed on shelves, sorted by height, inside pages of at most
+ * PAGE_SIZE x PAGE_SIZE. Every image gets PADDING pixels of its own edge
+ * colour around it, so linear filtering and mipmaps do not pick up the
+ * neighbours. Images too big for a page get a texture of their own, scaled
+ * down to a power of two that fits in a page.
+ *
+ * Loading is split in two: prepare() decodes, packs and builds the mip
+ * chains without touching GL, so it can run on a worker thread, and
+ * uploadNext() sends one mip level per call from the GL thread. load() does
+ * both at once. The prepared textures are written to the TextureCache, and
+ * later launches map them back instead of decoding while no source changed.
+ *
+ * Regions are looked up by their path under Assets, e.g. "planet1.png" or
+ * "Bullets/bullet_01.png". Texture coordinates put v = 0 at the top of the
+ * image, matching TextureIO.
+ */
+public class TextureAtlas {
+    public static final int PAGE_SIZE = 2048;
+    public static final int PADDING = 4;
+
+    public static final String ASSETS_FOLDER = "Assets";
+    private static final String CACHE_KEY = "atlas";
+
+    public static final String[] GAME_IMAGES = {
+            "planet1.png", "planet2.png", "planet3.png", "planet4.png",
+            "planet5.png", "planet6.png", "planet7.png",
+            "37.png", "rocket.png", "s2.png", "s3.png",
+            "Bullets/bullet_01.png", "Bullets/bullet_02.png", "Bullets/bullet_03.png", "Bullets/bullet_04.png",
+            "Bullets/bullet_05.png", "Bullets/bullet_06.png", "Bullets/bullet_07.png", "Bullets/bullet_08.png",
+            "start.png", "instructions.png", "exit.png", "single.png", "multi.png", "howtoplay.png",
+            "easy.png", "medium.png", "hard.png", "back.png", "ai.png", "background.png",
+            "yes.png", "no.png"
+    };
+
+    private static TextureAtlas instance;
+
+    private final String[] imageNames;
+    private final Map<String, Region> regions = new HashMap<>();
+    private final List<Integer> textureIds = new ArrayList<>();
+
+    private final List<PendingTexture> pending = new ArrayList<>();
+    private int totalLevels;
+    private int uploadedLevels;
+    private volatile boolean prepared = false;
+    private volatile boolean loaded = false;
+
+    public static class Region {
+        public final int texture;
+        public final float u0;
+        public final float v0;
+        public final float u1;
+        public final float v1;
+        public final int width;
+        public final int height;
+
+        Region(int texture, float u0, float v0, float u1, float v1, int width, int height) {
+            this.texture = texture;
+            this.u0 = u0;
+            this.v0 = v0;
+            this.u1 = u1;
+            this.v1 = v1;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    // Placement of one image while packing; becomes a Region once its texture is uploaded.
+    // width/height are the source image's size, area* the pixels it covers in the texture.
+    private static class Entry {
+        final String name;
+        final int width;
+        final int height;
+        BufferedImage image;
+        int page;
+        int x;
+        int y;
+        int areaWidth;
+        int areaHeight;
+
+        Entry(String name, BufferedImage image) {
+            this.name = name;
+            this.image = image;
+            this.width = image.getWidth();
+            this.height = image.getHeight();
+            this.areaWidth = width;
+            this.areaHeight = height;
+        }
+
+        Entry(TextureCache.Rect rect) {
+            this.name = rect.name;
+            this.width = rect.sourceWidth;
+            this.height = rect.sourceHeight;
+            this.x = rect.x;
+            this.y = rect.y;
+            this.areaWidth = rect.width;
+            this.areaHeight = rect.height;
+        }
+    }
+
+    // A page or standalone image whose mip chain is built but not fully sent to GL yet.
+    private static class PendingTexture {
+        final List<Entry> entries;
+        final int width;
+        final int height;
+        final List<ByteBuffer> levels;
+        int texture;
+        int nextLevel;
+
+        PendingTexture(List<Entry> entries, int width, int height, List<ByteBuffer> levels) {
+            this.entries = entries;
+            this.width = width;
+            this.height = height;
+            this.levels = levels;
+        }
+    }
+
+    public static synchronized TextureAtlas getInstance() {
+        if (instance == null) {
+            instance = new TextureAtlas(GAME_IMAGES);
+        }
+        return instance;
+    }
+
+    public TextureAtlas(String[] imageNames) {
+        this.imageNames = imageNames;
+    }
+
+    public String[] getImageNames() {
+        return imageNames;
+    }
+
+    // Convenience for render code: builds the atlas on first use with the current GL context.
+    public Region getRegion(GL gl, String name) {
+        if (!loaded) {
+            load(gl);
+        }
+        return regions.get(name);
+    }
+
+    public Region getRegion(String name) {
+        return regions.get(name);
+    }
+
+    // "Assets/rocket.png" -> "rocket.png"; names already relative to Assets are returned unchanged.
+    public static String nameOf(String assetPath) {
+        String path = assetPath.replace('\\', '/');
+        while (path.startsWith(ASSETS_FOLDER + "/")) {
+            path = path.substring(ASSETS_FOLDER.length() + 1);
+            while (path.startsWith("/")) {
+                path = path.substring(1);
+            }
+        }
+        return path;
+    }
+
+    public boolean isPrepared() {
+        return prepared;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Reads one image from Assets. Safe to call from any thread.
+     * @return the decoded image, or null if it is missing or unreadable
+     */
+    public static BufferedImage decode(String name) {
+        File file = new File(ASSETS_FOLDER, name);
+        if (!file.exists()) {
+            System.err.println("Atlas image not found: " + file.getPath());
+            return null;
+        }
+        try {
+            BufferedImage image = ImageIO.read(file);
+            if (image == null) {
+                System.err.println("Atlas image could not be decoded: " + file.getPath());
+            }
+            return image;
+        } catch (IOException e) {
+            System.err.println("Error loading atlas image " + file.getPath() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void load(GL gl) {
+        if (loaded) return;
+        if (!prepared) {
+            prepare();
+        }
+        while (!uploadNext(gl)) {
+            // one mip level per call
+        }
+    }
+
+    // Decodes every image on the calling thread, then prepares them.
+    public void prepare() {
+        if (prepareFromCache()) return;
+
+        BufferedImage[] images = new BufferedImage[imageNames.length];
+        for (int i = 0; i < imageNames.length; i++) {
+            images[i] = decode(imageNames[i]);
+        }
+        prepare(images);
+    }
+
+    /**
+     * Packs already decoded images (indexed like getImageNames(), null for
+     * missing ones) and builds every mip level. Makes no GL calls.
+     */
+    public synchronized void prepare(BufferedImage[] images) {
+        if (prepared) return;
+
+        List<Entry> packed = new ArrayList<>();
+        List<Entry> standalone = new ArrayList<>();
+
+        for (int i = 0; i < imageNames.length; i++) {
+            BufferedImage image = images[i];
+            if (image == null) continue;
+
+            Entry entry = new Entry(imageNames[i], image);
+            if (image.getWidth() + PADDING * 2 > PAGE_SIZE || image.getHeight() + PADDING * 2 > PAGE_SIZE) {
+                standalone.add(entry);
+            } else {
+                packed.add(entry);
+            }
+        }
+
+        List<int[]> pageSizes = pack(packed);
+        for (int page = 0; page < pageSizes.size(); page++) {
+            int[] size = pageSizes.get(page);
+            queue(buildPage(page, size[0], size[1], packed));
+        }
+
+        for (Entry entry : standalone) {
+            queue(buildStandalone(entry));
+        }
+
+        System.out.println("Texture atlas: " + packed.size() + " images on " + pageSizes.size() +
+                " page(s), " + standalone.size() + " standalone");
+        TextureCache.write(CACHE_KEY, sourceFiles(), toCacheImages(pending));
+        prepared = true;
+    }
+
+    /**
+     * Uses the textures cached by an earlier launch if none of the source
+     * images changed since. Reads no images; the mip levels are slices of the
+     * mapped cache file.
+     * @return true if the atlas is now prepared
+     */
+    public synchronized boolean prepareFromCache() {
+        if (prepared) return true;
+
+        List<TextureCache.Image> images = TextureCache.read(CACHE_KEY, sourceFiles());
+        if (images == null) return false;
+
+        for (TextureCache.Image image : images) {
+            queue(fromCacheImage(image));
+        }
+        System.out.println("Texture atlas: " + images.size() + " texture(s) from " + TextureCache.fileFor(CACHE_KEY).getPath());
+        prepared = true;
+        return true;
+    }
+
+    /**
+     * Uploads the next mip level of the next pending texture. Call from the GL thread.
+     * @return true once every texture is resident
+     */
+    public synchronized boolean uploadNext(GL gl) {
+        if (loaded) return true;
+        if (!prepared) return false;
+
+        if (!pending.isEmpty()) {
+            PendingTexture texture = pending.get(0);
+            uploadLevel(gl, texture);
+            if (texture.nextLevel == texture.levels.size()) {
+                pending.remove(0);
+                createRegions(texture);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            loaded = true;
+        }
+        return loaded;
+    }
+
+    public synchronized float getUploadProgress() {
+        if (loaded) return 1.0f;
+        if (!prepared || totalLevels == 0) return 0.0f;
+        return (float) uploadedLevels / totalLevels;
+    }
+
+    // Loads an image that is not part of the packed set into its own texture, all at once.
+    public Region addStandalone(GL gl, String name) {
+        File file = new File(ASSETS_FOLDER, name);
+        if (!file.exists()) {
+            return null;
+        }
+        String cacheKey = "standalone-" + name;
+        File[] sources = {file};
+        PendingTexture texture;
+        List<TextureCache.Image> cached = TextureCache.read(cacheKey, sources);
+        if (cached != null && cached.size() == 1) {
+            texture = fromCacheImage(cached.get(0));
+        } else {
+            BufferedImage image = decode(name);
+            if (image == null) {
+                return null;
+            }
+            texture = buildStandalone(new Entry(name, image));
+            TextureCache.write(cacheKey, sources, toCacheImages(Collections.singletonList(texture)));
+        }
+
+        while (texture.nextLevel < texture.levels.size()) {
+            uploadLevel(gl, texture);
+        }
+        createRegions(texture);
+        return regions.get(name);
+    }
+
+    public synchronized void dispose(GL gl) {
+        int[] ids = new int[textureIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = textureIds.get(i);
+        }
+        if (ids.length > 0) {
+            gl.glDeleteTextures(ids.length, ids, 0);
+        }
+        textureIds.clear();
+        regions.clear();
+        pending.clear();
+        totalLevels = 0;
+        uploadedLevels = 0;
+        prepared = false;
+        loaded = false;
+    }
+
+    private void queue(PendingTexture texture) {
+        pending.add(texture);
+        totalLevels += texture.levels.size();
+    }
+
+    // Shelf packing, tallest first. Returns the used width and height of each page.
+    private List<int[]> pack(List<Entry> entries) {
+        entries.sort((a, b) -> b.height - a.height);
+
+        List<int[]> pageSizes = new ArrayList<>();
+        int page = -1;
+        int shelfX = 0;
+        int shelfY = 0;
+        int shelfHeight = 0;
+
+        for (Entry entry : entries) {
+            int w = entry.width + PADDING * 2;
+            int h = entry.height + PADDING * 2;
+
+            if (page >= 0 && shelfX + w > PAGE_SIZE) {
+                shelfY += shelfHeight;
+                shelfX = 0;
+                shelfHeight = 0;
+            }
+            if (page < 0 || shelfY + h > PAGE_SIZE) {
+                page++;
+                pageSizes.add(new int[]{0, 0});
+                shelfX = 0;
+                shelfY = 0;
+                shelfHeight = 0;
+            }
+
+            entry.page = page;
+            entry.x = shelfX + PADDING;
+            entry.y = shelfY + PADDING;
+
+            shelfX += w;
+            shelfHeight = Math.max(shelfHeight, h);
+
+            int[] size = pageSizes.get(page);
+            size[0] = Math.max(size[0], shelfX);
+            size[1] = Math.max(size[1], shelfY + shelfHeight);
+        }
+
+        // Pages stay power-of-two so every mip level halves cleanly.
+        for (int[] size : pageSizes) {
+            size[0] = nextPowerOfTwo(size[0]);
+            size[1] = nextPowerOfTwo(size[1]);
+        }
+        return pageSizes;
+    }
+
+    private PendingTexture buildPage(int page, int pageWidth, int pageHeight, List<Entry> entries) {
+        List<Entry> onPage = new ArrayList<>();
+        BufferedImage pageImage = new BufferedImage(pageWidth, pageHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = pageImage.createGraphics();
+        for (Entry entry : entries) {
+            if (entry.page == page) {
+                g.drawImage(entry.image, entry.x, entry.y, null);
+                entry.image = null;
+                onPage.add(entry);
+            }
+        }
+        g.dispose();
+
+        int[] argb = ((DataBufferInt) pageImage.getRaster().getDataBuffer()).getData();
+        for (Entry entry : onPage) {
+            extrudeEdges(argb, pageWidth, entry.x, entry.y, entry.width, entry.height);
+        }
+
+        return new PendingTexture(onPage, pageWidth, pageHeight, buildMipChain(argb, pageWidth, pageHeight));
+    }
+
+    private PendingTexture buildStandalone(Entry entry) {
+        int w = Math.min(PAGE_SIZE, previousPowerOfTwo(entry.width));
+        int h = Math.min(PAGE_SIZE, previousPowerOfTwo(entry.height));
+
+        BufferedImage scaled = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(entry.image, 0, 0, w, h, null);
+        g.dispose();
+        entry.image = null;
+        entry.areaWidth = w;
+        entry.areaHeight = h;
+
+        int[] argb = ((DataBufferInt) scaled.getRaster().getDataBuffer()).getData();
+        List<Entry> entries = new ArrayList<>();
+        entries.add(entry);
+        return new PendingTexture(entries, w, h, buildMipChain(argb, w, h));
+    }
+
+    // Repeats each image's outermost pixels into its padding border.
+    private static void extrudeEdges(int[] argb, int stride, int x, int y, int w, int h) {
+        for (int row = y; row < y + h; row++) {
+            int left = argb[row * stride + x];
+            int right = argb[row * stride + x + w - 1];
+            for (int p = 1; p <= PADDING; p++) {
+                argb[row * stride + x - p] = left;
+                argb[row * stride + x + w - 1 + p] = right;
+            }
+        }
+        for (int p = 1; p <= PADDING; p++) {
+            System.arraycopy(argb, y * stride + x - PADDING, argb, (y - p) * stride + x - PADDING, w + PADDING * 2);
+            System.arraycopy(argb, (y + h - 1) * stride + x - PADDING, argb, (y + h - 1 + p) * stride + x - PADDING, w + PADDING * 2);
+        }
+    }
+
+    // Levels are converted and filtered a row at a time, in parallel above this many pixels.
+    private static final int PARALLEL_PIXELS = 256 * 256;
+
+    /**
+     * RGBA levels from full size down to 1x1, each a 2x2 box filter of the one
+     * above. Works on whole pixels: {@code argb} (which is overwritten) is turned
+     * into RGBA ints in place, and every level is filtered as packed ints and
+     * written with one bulk put through a big-endian IntBuffer view.
+     * Public so the conversion benchmark can time it.
+     */
+    public static List<ByteBuffer> buildMipChain(int[] argb, int width, int height) {
+        List<ByteBuffer> levels = new ArrayList<>();
+
+        rows(width, height).forEach(row -> {
+            for (int i = row * width, end = i + width; i < end; i++) {
+                argb[i] = Integer.rotateLeft(argb[i], 8);
+            }
+        });
+        int[] rgba = argb;
+        levels.add(toDirect(rgba, width * height));
+
+        int w = width;
+        int h = height;
+        while (w > 1 || h > 1) {
+            int nw = Math.max(1, w / 2);
+            int nh = Math.max(1, h / 2);
+            int[] next = new int[nw * nh];
+            int[] above = rgba;
+            int aboveWidth = w;
+            int aboveHeight = h;
+
+            rows(nw, nh).forEach(y -> {
+                int y0 = Math.min(y * 2, aboveHeight - 1) * aboveWidth;
+                int y1 = Math.min(y * 2 + 1, aboveHeight - 1) * aboveWidth;
+                for (int x = 0; x < nw; x++) {
+                    int x0 = Math.min(x * 2, aboveWidth - 1);
+                    int x1 = Math.min(x * 2 + 1, aboveWidth - 1);
+                    next[y * nw + x] = average(above[y0 + x0], above[y0 + x1], above[y1 + x0], above[y1 + x1]);
+                }
+            });
+
+            levels.add(toDirect(next, next.length));
+            rgba = next;
+            w = nw;
+            h = nh;
+        }
+        return levels;
+    }
+
+    private static IntStream rows(int width, int height) {
+        IntStream rows = IntStream.range(0, height);
+        return width * height >= PARALLEL_PIXELS ? rows.parallel() : rows;
+    }
+
+    // Rounded per-channel mean of four packed pixels; two channels are summed at once in 16-bit lanes.
+    private static int average(int a, int b, int c, int d) {
+        int evens = (a & 0x00FF00FF) + (b & 0x00FF00FF) + (c & 0x00FF00FF) + (d & 0x00FF00FF);
+        int odds = ((a >>> 8) & 0x00FF00FF) + ((b >>> 8) & 0x00FF00FF)
+                + ((c >>> 8) & 0x00FF00FF) + ((d >>> 8) & 0x00FF00FF);
+        evens = ((evens + 0x00020002) >>> 2) & 0x00FF00FF;
+        odds = ((odds + 0x00020002) >>> 2) & 0x00FF00FF;
+        return evens | (odds << 8);
+    }
+
+    // RGBA ints as bytes R, G, B, A: one big-endian int per pixel.
+    private static ByteBuffer toDirect(int[] pixels, int count) {
+        ByteBuffer buffer = BufferUtil.newByteBuffer(count * 4);
+        buffer.duplicate().order(ByteOrder.BIG_ENDIAN).asIntBuffer().put(pixels, 0, count);
+        return buffer;
+    }
+
+    private void uploadLevel(GL gl, PendingTexture texture) {
+        if (texture.nextLevel == 0) {
+            int[] id = new int[1];
+            gl.glGenTextures(1, id, 0);
+            texture.texture = id[0];
+            textureIds.add(id[0]);
+
+            gl.glBindTexture(GL.GL_TEXTURE_2D, texture.texture);
+            gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_S, GL.GL_CLAMP_TO_EDGE);
+            gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_T, GL.GL_CLAMP_TO_EDGE);
+            gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR_MIPMAP_LINEAR);
+            gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
+        } else {
+            gl.glBindTexture(GL.GL_TEXTURE_2D, texture.texture);
+        }
+
+        int level = texture.nextLevel;
+        int w = Math.max(1, texture.width >> level);
+        int h = Math.max(1, texture.height >> level);
+        gl.glPixelStorei(GL.GL_UNPACK_ALIGNMENT, 1);
+        gl.glTexImage2D(GL.GL_TEXTURE_2D, level, GL.GL_RGBA, w, h, 0,
+                GL.GL_RGBA, GL.GL_UNSIGNED_BYTE, texture.levels.get(level));
+
+        texture.levels.set(level, null);
+        texture.nextLevel++;
+        uploadedLevels++;
+    }
+
+    private void createRegions(PendingTexture texture) {
+        for (Entry entry : texture.entries) {
+            regions.put(entry.name, new Region(texture.texture,
+                    (float) entry.x / texture.width, (float) entry.y / texture.height,
+                    (float) (entry.x + entry.areaWidth) / texture.width,
+                    (float) (entry.y + entry.areaHeight) / texture.height,
+                    entry.width, entry.height));
+        }
+    }
+
+    private File[] sourceFiles() {
+        File[] files = new File[imageNames.length];
+        for (int i = 0; i < imageNames.length; i++) {
+            files[i] = new File(ASSETS_FOLDER, imageNames[i]);
+        }
+        return files;
+    }
+
+    private static List<TextureCache.Image> toCacheImages(List<PendingTexture> textures) {
+        List<TextureCache.Image> images = new ArrayList<>();
+        for (PendingTexture texture : textures) {
+            List<TextureCache.Rect> rects = new ArrayList<>();
+            for (Entry entry : texture.entries) {
+                rects.add(new TextureCache.Rect(entry.name, entry.x, entry.y,
+                        entry.areaWidth, entry.areaHeight, entry.width, entry.height));
+            }
+            images.add(new TextureCache.Image(texture.width, texture.height, 4, texture.levels, rects));
+        }
+        return images;
+    }
+
+    private static PendingTexture fromCacheImage(TextureCache.Image image) {
+        List<Entry> entries = new ArrayList<>();
+        for (TextureCache.Rect rect : image.rects) {
+            entries.add(new Entry(rect));
+        }
+        return new PendingTexture(entries, image.width, image.height, new ArrayList<>(image.levels));
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        int result = 1;
+        while (result < value) {
+            result <<= 1;
+        }
+        return result;
+    }
+
+    private static int previousPowerOfTwo(int value) {
+        return Integer.highestOneBit(Math.max(1, value));
+    }
+
+    public int getTextureCount() {
+        return textureIds.size();
+    }
+}
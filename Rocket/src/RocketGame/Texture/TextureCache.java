@@ -0,0 +1,276 @@
+package RocketGame.Texture;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * On-disk cache of decoded textures, so later launches skip ImageIO and mip
+ * generation. A cache file holds a header followed by the raw pixel data of
+ * every mip level:
+ *
+ *   magic, version
+ *   source count, then per source: path, length, last modified
+ *   image count, then per image: width, height, bytes per pixel, level count,
+ *                                region count, then per region: name, x, y, width, height, source width, source height
+ *   pixel data of every level of every image, in order
+ *
+ * A file is only used when every recorded source still has the same length
+ * and modification time; a source that did not exist is recorded with
+ * length -1, so adding it later invalidates the cache too. Reads check the
+ * header first, then map the pixel data and hand out slices of the mapping,
+ * which glTexImage2D can take directly.
+ */
+public class TextureCache {
+    public static final String CACHE_FOLDER = "Cache";
+
+    private static final int MAGIC = 0x52545843; // "RTXC"
+    private static final int VERSION = 1;
+
+    // A named sub-rectangle of a cached image, in texture pixels, plus the size of the picture it came from.
+    public static class Rect {
+        public final String name;
+        public final int x;
+        public final int y;
+        public final int width;
+        public final int height;
+        public final int sourceWidth;
+        public final int sourceHeight;
+
+        public Rect(String name, int x, int y, int width, int height, int sourceWidth, int sourceHeight) {
+            this.name = name;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.sourceWidth = sourceWidth;
+            this.sourceHeight = sourceHeight;
+        }
+    }
+
+    public static class Image {
+        public final int width;
+        public final int height;
+        public final int bytesPerPixel;
+        public final List<ByteBuffer> levels;
+        public final List<Rect> rects;
+
+        public Image(int width, int height, int bytesPerPixel, List<ByteBuffer> levels, List<Rect> rects) {
+            this.width = width;
+            this.height = height;
+            this.bytesPerPixel = bytesPerPixel;
+            this.levels = levels;
+            this.rects = rects;
+        }
+    }
+
+    public static File fileFor(String key) {
+        return new File(CACHE_FOLDER, key.replace('/', '_').replace('\\', '_') + ".tex");
+    }
+
+    // Header bytes read per attempt; most headers are a few KB, and bigger ones retry with more.
+    private static final int HEADER_READ_SIZE = 16 * 1024;
+
+    // What the header says about one image, before its levels are mapped.
+    private static class ImageHeader {
+        final int width;
+        final int height;
+        final int bytesPerPixel;
+        final int levelCount;
+        final List<Rect> rects;
+
+        ImageHeader(int width, int height, int bytesPerPixel, int levelCount, List<Rect> rects) {
+            this.width = width;
+            this.height = height;
+            this.bytesPerPixel = bytesPerPixel;
+            this.levelCount = levelCount;
+            this.rects = rects;
+        }
+    }
+
+    /**
+     * Reads the cache file for {@code key}. The header is read and checked
+     * through a heap buffer; only a current cache gets mapped, so a stale
+     * file is never left mapped and can be replaced right away.
+     * @return its images, or null if there is no file or it is stale or damaged
+     */
+    public static List<Image> read(String key, File[] sources) {
+        File file = fileFor(key);
+        if (!file.exists()) return null;
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            long fileSize = channel.size();
+            List<ImageHeader> headers = new ArrayList<>();
+            int headerLength = -1;
+
+            for (long readSize = Math.min(HEADER_READ_SIZE, fileSize); headerLength < 0; readSize = Math.min(readSize * 4, fileSize)) {
+                ByteBuffer header = ByteBuffer.allocate((int) readSize);
+                while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                    // keep reading until the buffer is full
+                }
+                header.flip();
+                try {
+                    if (!readHeader(header, sources, headers)) return null;
+                    headerLength = header.position();
+                } catch (BufferUnderflowException e) {
+                    if (readSize >= fileSize) throw e;
+                    headers.clear();
+                }
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, headerLength, fileSize - headerLength);
+            List<Image> images = new ArrayList<>();
+            for (ImageHeader header : headers) {
+                List<ByteBuffer> levels = new ArrayList<>();
+                for (int level = 0; level < header.levelCount; level++) {
+                    int size = Math.max(1, header.width >> level) * Math.max(1, header.height >> level) * header.bytesPerPixel;
+                    ByteBuffer slice = mapped.slice();
+                    slice.limit(size);
+                    mapped.position(mapped.position() + size);
+                    levels.add(slice);
+                }
+                images.add(new Image(header.width, header.height, header.bytesPerPixel, levels, header.rects));
+            }
+            return images;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring texture cache " + file.getPath() + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Parses the header into {@code images}, leaving the buffer positioned at the pixel data.
+     * @return false if the file is from another version or any source changed
+     * @throws BufferUnderflowException if the buffer ends before the header does
+     */
+    private static boolean readHeader(ByteBuffer header, File[] sources, List<ImageHeader> images) {
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            return false;
+        }
+
+        int sourceCount = header.getInt();
+        if (sourceCount != sources.length) return false;
+        for (File source : sources) {
+            String path = getString(header);
+            long length = header.getLong();
+            long modified = header.getLong();
+            if (!path.equals(source.getPath()) || length != lengthOf(source) || modified != source.lastModified()) {
+                return false;
+            }
+        }
+
+        int imageCount = header.getInt();
+        for (int i = 0; i < imageCount; i++) {
+            int width = header.getInt();
+            int height = header.getInt();
+            int bytesPerPixel = header.getInt();
+            int levelCount = header.getInt();
+            int rectCount = header.getInt();
+            List<Rect> rects = new ArrayList<>();
+            for (int r = 0; r < rectCount; r++) {
+                rects.add(new Rect(getString(header), header.getInt(), header.getInt(), header.getInt(),
+                        header.getInt(), header.getInt(), header.getInt()));
+            }
+            images.add(new ImageHeader(width, height, bytesPerPixel, levelCount, rects));
+        }
+        return true;
+    }
+
+    // Writes to a temporary file first so a crash never leaves a half-written cache behind.
+    public static void write(String key, File[] sources, List<Image> images) {
+        File file = fileFor(key);
+        File temp = new File(file.getPath() + ".tmp");
+        file.getParentFile().mkdirs();
+
+        ByteBuffer header = buildHeader(sources, images);
+        try (RandomAccessFile raf = new RandomAccessFile(temp, "rw");
+             FileChannel channel = raf.getChannel()) {
+            raf.setLength(0);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            for (Image image : images) {
+                for (ByteBuffer level : image.levels) {
+                    ByteBuffer data = level.duplicate();
+                    data.rewind();
+                    while (data.hasRemaining()) {
+                        channel.write(data);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write texture cache " + file.getPath() + ": " + e.getMessage());
+            temp.delete();
+            return;
+        }
+
+        if (file.exists() && !file.delete() || !temp.renameTo(file)) {
+            System.err.println("Could not replace texture cache " + file.getPath());
+            temp.delete();
+        }
+    }
+
+    private static ByteBuffer buildHeader(File[] sources, List<Image> images) {
+        List<byte[]> strings = new ArrayList<>();
+        int size = 4 * 3;
+        for (File source : sources) {
+            byte[] path = source.getPath().getBytes(StandardCharsets.UTF_8);
+            strings.add(path);
+            size += 4 + path.length + 8 + 8;
+        }
+        size += 4;
+        for (Image image : images) {
+            size += 4 * 5;
+            for (Rect rect : image.rects) {
+                byte[] name = rect.name.getBytes(StandardCharsets.UTF_8);
+                strings.add(name);
+                size += 4 + name.length + 4 * 6;
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(size);
+        int string = 0;
+        header.putInt(MAGIC).putInt(VERSION).putInt(sources.length);
+        for (File source : sources) {
+            byte[] path = strings.get(string++);
+            header.putInt(path.length).put(path);
+            header.putLong(lengthOf(source)).putLong(source.lastModified());
+        }
+        header.putInt(images.size());
+        for (Image image : images) {
+            header.putInt(image.width).putInt(image.height).putInt(image.bytesPerPixel)
+                    .putInt(image.levels.size()).putInt(image.rects.size());
+            for (Rect rect : image.rects) {
+                byte[] name = strings.get(string++);
+                header.putInt(name.length).put(name);
+                header.putInt(rect.x).putInt(rect.y).putInt(rect.width).putInt(rect.height)
+                        .putInt(rect.sourceWidth).putInt(rect.sourceHeight);
+            }
+        }
+        header.flip();
+        return header;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long lengthOf(File source) {
+        return source.exists() ? source.length() : -1;
+    }
+}
@@ -0,0 +1,100 @@
+package RocketGame.Texture;
+
+import javax.media.opengl.GL;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single owner of every GL texture the game uses. Each asset is loaded once
+ * per process, from the atlas or into its own texture, and stays resident
+ * across restarts and menu round-trips. Screens acquire the assets they use
+ * and release them when they go away. Textures are only deleted by dispose()
+ * at shutdown.
+ */
+public class TextureManager {
+    private static TextureManager instance;
+
+    private final TextureAtlas atlas;
+    private final Map<String, Integer> referenceCounts = new HashMap<>();
+    private final Set<String> missing = new HashSet<>();
+
+    public static synchronized TextureManager getInstance() {
+        if (instance == null) {
+            instance = new TextureManager(TextureAtlas.getInstance());
+        }
+        return instance;
+    }
+
+    private TextureManager(TextureAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    // Only counts the reference; uploading is left to the preloader or the first getRegion call,
+    // so acquiring from init() never stalls a frame.
+    public TextureAtlas.Region acquire(GL gl, String path) {
+        String name = TextureAtlas.nameOf(path);
+        Integer count = referenceCounts.get(name);
+        referenceCounts.put(name, count == null ? 1 : count + 1);
+        return atlas.getRegion(name);
+    }
+
+    public void acquireAll(GL gl, String[] paths) {
+        for (String path : paths) {
+            acquire(gl, path);
+        }
+    }
+
+    public void release(String path) {
+        String name = TextureAtlas.nameOf(path);
+        Integer count = referenceCounts.get(name);
+        if (count == null) {
+            System.err.println("TextureManager: release without acquire for " + name);
+        } else if (count <= 1) {
+            referenceCounts.remove(name);
+        } else {
+            referenceCounts.put(name, count - 1);
+        }
+    }
+
+    public void releaseAll(String[] paths) {
+        for (String path : paths) {
+            release(path);
+        }
+    }
+
+    /**
+     * Per-frame lookup. {@code name} is the path under Assets ("planet1.png").
+     * Loads on first use; missing files are remembered so they are only looked for once.
+     * @return the region, or null if the image does not exist
+     */
+    public TextureAtlas.Region getRegion(GL gl, String name) {
+        if (!atlas.isLoaded()) {
+            atlas.load(gl);
+        }
+
+        TextureAtlas.Region region = atlas.getRegion(name);
+        if (region == null && !missing.contains(name)) {
+            region = atlas.addStandalone(gl, name);
+            if (region == null) {
+                missing.add(name);
+            }
+        }
+        return region;
+    }
+
+    public int getReferenceCount(String path) {
+        Integer count = referenceCounts.get(TextureAtlas.nameOf(path));
+        return count == null ? 0 : count;
+    }
+
+    // Must run with the game's GL context current.
+    public void dispose(GL gl) {
+        System.out.println("TextureManager: freeing " + atlas.getTextureCount() + " textures (" +
+                referenceCounts.size() + " assets still referenced)");
+        atlas.dispose(gl);
+        referenceCounts.clear();
+        missing.clear();
+    }
+}
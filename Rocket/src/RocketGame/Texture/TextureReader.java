@@ -3,9 +3,18 @@ package RocketGame.Texture;
 import com.sun.opengl.util.BufferUtil;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
 import java.awt.image.PixelGrabber;
+import java.awt.image.WritableRaster;
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Image loading class that converts BufferedImages into a data
@@ -19,20 +28,185 @@ public class TextureReader {
   }
 
   public static Texture readTexture(String filename, boolean storeAlphaChannel) throws IOException {
-    BufferedImage bufferedImage;
+    return readTexture(filename, storeAlphaChannel, null);
+  }
+
+  // Same as above, but fills {@code reuse} when it is big enough so repeated loads do not allocate direct memory.
+  // Files on disk go through the TextureCache; a cache hit returns a slice of the mapped file and ignores {@code reuse}.
+  public static Texture readTexture(String filename, boolean storeAlphaChannel, ByteBuffer reuse) throws IOException {
+    File source = new File(filename);
+    String cacheKey = "reader-" + filename + (storeAlphaChannel ? "-rgba" : "-rgb");
+    File[] sources = {source};
+    if (source.exists()) {
+      List<TextureCache.Image> cached = TextureCache.read(cacheKey, sources);
+      if (cached != null && cached.size() == 1) {
+        TextureCache.Image image = cached.get(0);
+        return new Texture(image.levels.get(0), image.width, image.height);
+      }
+    }
+
+    Texture texture;
     if (filename.endsWith(".bmp")) {
-      bufferedImage = BitmapLoader.loadBitmap(filename);
+      texture = BitmapLoader.loadBitmapPixels(filename, storeAlphaChannel, reuse);
     } else {
-      bufferedImage = readImage(filename);
+      texture = readPixels(readImage(filename), storeAlphaChannel, reuse);
+    }
+
+    if (source.exists()) {
+      TextureCache.write(cacheKey, sources, Collections.singletonList(new TextureCache.Image(
+          texture.getWidth(), texture.getHeight(), storeAlphaChannel ? 4 : 3,
+          Collections.singletonList(texture.getPixels()), Collections.<TextureCache.Rect>emptyList())));
     }
-    return readPixels(bufferedImage, storeAlphaChannel);
+    return texture;
   }
 
   private static BufferedImage readImage(String resourceName) throws IOException {
     return ImageIO.read(ResourceRetriever.getResourceAsStream(resourceName));
   }
 
-  private static Texture readPixels(BufferedImage img, boolean storeAlphaChannel) {
+  /**
+   * Converts the image to bottom-up RGB(A) bytes. The common layouts are read
+   * straight from the raster's DataBuffer a row at a time; anything else goes
+   * through PixelGrabber. {@code reuse} is filled instead of allocating when
+   * it is large enough.
+   */
+  public static Texture readPixels(BufferedImage img, boolean storeAlphaChannel, ByteBuffer reuse) {
+    int width = img.getWidth();
+    int height = img.getHeight();
+    int bytesPerPixel = storeAlphaChannel ? 4 : 3;
+    int size = width * height * bytesPerPixel;
+
+    ByteBuffer unpackedPixels;
+    if (reuse != null && reuse.capacity() >= size) {
+      unpackedPixels = reuse;
+      unpackedPixels.clear();
+    } else {
+      unpackedPixels = BufferUtil.newByteBuffer(size);
+    }
+
+    if (!convertRaster(img, storeAlphaChannel, unpackedPixels)) {
+      grabPixels(img, storeAlphaChannel, unpackedPixels);
+    }
+
+    unpackedPixels.position(0);
+    unpackedPixels.limit(size);
+    return new Texture(unpackedPixels, width, height);
+  }
+
+  // Rows are converted in parallel above this many pixels; below it the fork/join overhead wins.
+  private static final int PARALLEL_PIXELS = 256 * 256;
+
+  private static final ThreadLocal<int[]> intRows = new ThreadLocal<>();
+  private static final ThreadLocal<byte[]> byteRows = new ThreadLocal<>();
+
+  private static boolean convertRaster(BufferedImage img, boolean storeAlphaChannel, ByteBuffer out) {
+    int type = img.getType();
+    if (type != BufferedImage.TYPE_INT_ARGB && type != BufferedImage.TYPE_INT_RGB
+        && type != BufferedImage.TYPE_4BYTE_ABGR && type != BufferedImage.TYPE_3BYTE_BGR) {
+      return false;
+    }
+
+    // Only unshared, zero-offset rasters (what ImageIO and new BufferedImage give us) are laid out row after row.
+    WritableRaster raster = img.getRaster();
+    if (raster.getParent() != null || raster.getSampleModelTranslateX() != 0 || raster.getSampleModelTranslateY() != 0
+        || raster.getDataBuffer().getNumBanks() != 1 || raster.getDataBuffer().getOffset() != 0) {
+      return false;
+    }
+
+    int width = img.getWidth();
+    int height = img.getHeight();
+    if (type == BufferedImage.TYPE_INT_ARGB || type == BufferedImage.TYPE_INT_RGB) {
+      int[] data = ((DataBufferInt) raster.getDataBuffer()).getData();
+      convertInts(data, width, height, type == BufferedImage.TYPE_INT_ARGB, storeAlphaChannel, out);
+    } else {
+      byte[] data = ((DataBufferByte) raster.getDataBuffer()).getData();
+      int srcBytes = type == BufferedImage.TYPE_4BYTE_ABGR ? 4 : 3;
+      rows(width, height).forEach(row -> byteRowToRGB(data, srcBytes, row, width, height, storeAlphaChannel, out.duplicate()));
+    }
+    return true;
+  }
+
+  private static IntStream rows(int width, int height) {
+    IntStream rows = IntStream.range(0, height);
+    return width * height >= PARALLEL_PIXELS ? rows.parallel() : rows;
+  }
+
+  private static void convertInts(int[] data, int width, int height, boolean hasAlpha, boolean storeAlphaChannel, ByteBuffer out) {
+    if (storeAlphaChannel) {
+      // RGBA is one big-endian int per pixel, so whole rows go through an IntBuffer view.
+      IntBuffer view = out.duplicate().order(ByteOrder.BIG_ENDIAN).asIntBuffer();
+      rows(width, height).forEach(row -> intRowToRGBA(data, row, width, height, hasAlpha, view.duplicate()));
+    } else {
+      rows(width, height).forEach(row -> intRowToRGB(data, row, width, height, out.duplicate()));
+    }
+  }
+
+  private static void intRowToRGBA(int[] data, int row, int width, int height, boolean hasAlpha, IntBuffer out) {
+    int[] line = intRows.get();
+    if (line == null || line.length < width) {
+      line = new int[width];
+      intRows.set(line);
+    }
+
+    int src = row * width;
+    for (int col = 0; col < width; col++) {
+      int argb = data[src + col];
+      if (!hasAlpha) {
+        argb |= 0xFF000000;
+      }
+      line[col] = (argb << 8) | (argb >>> 24);
+    }
+
+    out.position((height - 1 - row) * width);
+    out.put(line, 0, width);
+  }
+
+  private static void intRowToRGB(int[] data, int row, int width, int height, ByteBuffer out) {
+    byte[] line = rowBytes(width * 3);
+
+    int src = row * width;
+    for (int col = 0, o = 0; col < width; col++, o += 3) {
+      int argb = data[src + col];
+      line[o] = (byte) (argb >> 16);
+      line[o + 1] = (byte) (argb >> 8);
+      line[o + 2] = (byte) argb;
+    }
+
+    out.position((height - 1 - row) * width * 3);
+    out.put(line, 0, width * 3);
+  }
+
+  // TYPE_4BYTE_ABGR stores A, B, G, R; TYPE_3BYTE_BGR stores B, G, R.
+  private static void byteRowToRGB(byte[] data, int srcBytes, int row, int width, int height,
+                                   boolean storeAlphaChannel, ByteBuffer out) {
+    int dstBytes = storeAlphaChannel ? 4 : 3;
+    byte[] line = rowBytes(width * dstBytes);
+    int a = srcBytes == 4 ? 1 : 0;
+
+    for (int col = 0, s = row * width * srcBytes, o = 0; col < width; col++, s += srcBytes, o += dstBytes) {
+      line[o] = data[s + a + 2];
+      line[o + 1] = data[s + a + 1];
+      line[o + 2] = data[s + a];
+      if (storeAlphaChannel) {
+        line[o + 3] = srcBytes == 4 ? data[s] : (byte) 0xFF;
+      }
+    }
+
+    out.position((height - 1 - row) * width * dstBytes);
+    out.put(line, 0, width * dstBytes);
+  }
+
+  private static byte[] rowBytes(int length) {
+    byte[] line = byteRows.get();
+    if (line == null || line.length < length) {
+      line = new byte[length];
+      byteRows.set(line);
+    }
+    return line;
+  }
+
+  // Indexed, grey and premultiplied images are unpacked to ARGB by PixelGrabber first.
+  private static void grabPixels(BufferedImage img, boolean storeAlphaChannel, ByteBuffer unpackedPixels) {
     int[] packedPixels = new int[img.getWidth() * img.getHeight()];
 
     PixelGrabber pixelgrabber = new PixelGrabber(img, 0, 0, img.getWidth(), img.getHeight(), packedPixels, 0, img.getWidth());
@@ -42,25 +216,7 @@ public class TextureReader {
       throw new RuntimeException();
     }
 
-    int bytesPerPixel = storeAlphaChannel ? 4 : 3;
-    ByteBuffer unpackedPixels = BufferUtil.newByteBuffer(packedPixels.length * bytesPerPixel);
-
-    for (int row = img.getHeight() - 1; row >= 0; row--) {
-      for (int col = 0; col < img.getWidth(); col++) {
-	int packedPixel = packedPixels[row * img.getWidth() + col];
-	unpackedPixels.put((byte) ((packedPixel >> 16) & 0xFF));
-	unpackedPixels.put((byte) ((packedPixel >> 8) & 0xFF));
-	unpackedPixels.put((byte) ((packedPixel >> 0) & 0xFF));
-	if (storeAlphaChannel) {
-	  unpackedPixels.put((byte) ((packedPixel >> 24) & 0xFF));
-	}
-      }
-    }
-
-    unpackedPixels.flip();
-
-
-    return new Texture(unpackedPixels, img.getWidth(), img.getHeight());
+    convertInts(packedPixels, img.getWidth(), img.getHeight(), true, storeAlphaChannel, unpackedPixels);
   }
 
   public static class Texture 
@@ -8,6 +8,13 @@ public class Constants {
     public static final String WINDOW_TITLE = "Epic Rocket Game";
     public static final int FPS = 30;
 
+    public static final int TICK_RATE = 60;
+    public static final float TICK_SECONDS = 1.0f / TICK_RATE;
+    public static final int MAX_TICKS_PER_FRAME = 5;
+    public static final float MAX_FRAME_TIME = 0.25f;
+
+    public static final int MAX_PARTICLES = 4096;
+
 
     public static final int INITIAL_LIVES = 3;
     public static final int ROCKET_MAX_HEALTH = 100;
@@ -0,0 +1,16 @@
+package RocketGame.Util;
+
+public class GameClock {
+
+    // Simulation time in milliseconds. It only moves when GameEngine runs a tick,
+    // so cooldowns and spawn timers follow the simulation instead of the wall clock.
+    private static double currentTime = System.currentTimeMillis();
+
+    public static long currentTimeMillis() {
+        return (long) currentTime;
+    }
+
+    public static void advance(double millis) {
+        currentTime += millis;
+    }
+}
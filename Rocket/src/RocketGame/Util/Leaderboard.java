@@ -0,0 +1,301 @@
+package RocketGame.Util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Players ordered by high score (ties by username), as a treap whose nodes
+ * also count their subtree. Ranks, the top K and the players around someone
+ * all come from one walk down the tree, so no query copies or sorts the
+ * whole table. Ranks are 1-based and count only strictly higher scores, as
+ * the game-over screen always has.
+ *
+ * Writes copy the nodes on the path they change instead of modifying them,
+ * then publish the new root, so readers walk a tree that never changes under
+ * them and need no lock. Only one thread may write at a time.
+ */
+public class Leaderboard<V> {
+    private static class Node<V> {
+        final String name;
+        final int score;
+        final int priority;
+        final V value;
+        int size = 1;
+        Node<V> left;
+        Node<V> right;
+
+        Node(String name, int score, V value, int priority) {
+            this.name = name;
+            this.score = score;
+            this.value = value;
+            this.priority = priority;
+        }
+
+        // Nodes are only changed before they are published, so writers change copies.
+        Node<V> copy() {
+            Node<V> copy = new Node<>(name, score, value, priority);
+            copy.size = size;
+            copy.left = left;
+            copy.right = right;
+            return copy;
+        }
+    }
+
+    // Each player's current key; the node itself may since have been copied in the tree.
+    private volatile Map<String, Node<V>> nodes = new ConcurrentHashMap<>();
+    private volatile Node<V> root;
+    private int seed = 0x2545F491;
+
+    public int size() {
+        return size(root);
+    }
+
+    // Adds the player or moves them to their new score.
+    public void put(String name, int score, V value) {
+        Node<V> tree = root;
+        Node<V> old = nodes.get(name);
+        if (old != null) {
+            tree = remove(tree, old);
+        }
+        Node<V> node = new Node<>(name, score, value, nextPriority());
+        tree = insert(tree, node);
+        nodes.put(name, node);
+        root = tree;
+    }
+
+    /**
+     * Replaces the contents with the given players in one pass: the entries
+     * are sorted once and the treap is built from the sorted run, which is
+     * much cheaper than inserting them one at a time.
+     */
+    public void putAll(Map<String, V> values, ToIntFunction<V> score) {
+        Map<String, Node<V>> keys = new ConcurrentHashMap<>(values.size() * 4 / 3 + 1);
+        List<Node<V>> sorted = new ArrayList<>(values.size());
+        for (Map.Entry<String, V> entry : values.entrySet()) {
+            Node<V> node = new Node<>(entry.getKey(), score.applyAsInt(entry.getValue()), entry.getValue(), nextPriority());
+            keys.put(node.name, node);
+            sorted.add(node);
+        }
+        sorted.sort(Leaderboard::compare);
+
+        // Classic Cartesian-tree build: keep the right spine on a stack.
+        Node<V>[] spine = newArray(sorted.size());
+        int top = 0;
+        for (Node<V> node : sorted) {
+            Node<V> last = null;
+            while (top > 0 && spine[top - 1].priority < node.priority) {
+                last = spine[--top];
+            }
+            node.left = last;
+            if (top > 0) {
+                spine[top - 1].right = node;
+            }
+            spine[top++] = node;
+        }
+        Node<V> tree = top > 0 ? spine[0] : null;
+        updateSizes(tree);
+        nodes = keys;
+        root = tree;
+    }
+
+    private static int updateSizes(Node<?> node) {
+        if (node == null) return 0;
+        node.size = 1 + updateSizes(node.left) + updateSizes(node.right);
+        return node.size;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <V> Node<V>[] newArray(int length) {
+        return (Node<V>[]) new Node[length];
+    }
+
+    public void remove(String name) {
+        Node<V> node = nodes.remove(name);
+        if (node != null) {
+            root = remove(root, node);
+        }
+    }
+
+    // 1 + the number of players scoring strictly more than {@code score}.
+    public int rankOf(int score) {
+        int higher = 0;
+        Node<V> node = root;
+        while (node != null) {
+            if (node.score > score) {
+                higher += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return higher + 1;
+    }
+
+    // The player's rank by their own high score, or -1 if unknown.
+    public int rankOfPlayer(String name) {
+        Node<V> node = nodes.get(name);
+        return node == null ? -1 : rankOf(node.score);
+    }
+
+    public List<V> topK(int k) {
+        return range(0, k);
+    }
+
+    // Players from {@code radius} places above to {@code radius} places below the given one.
+    // Empty if the player is unknown, or moved by a write that raced this read.
+    public List<V> around(String name, int radius) {
+        Node<V> tree = root;
+        Node<V> node = nodes.get(name);
+        if (node == null) return new ArrayList<>();
+
+        int index = indexOf(tree, node);
+        if (index < 0) return new ArrayList<>();
+        int from = Math.max(0, index - radius);
+        return range(tree, from, index + radius + 1 - from);
+    }
+
+    // Entries at positions [from, from + count) of the ordering.
+    public List<V> range(int from, int count) {
+        return range(root, from, count);
+    }
+
+    private List<V> range(Node<V> tree, int from, int count) {
+        List<V> out = new ArrayList<>(Math.max(0, Math.min(count, size(tree) - from)));
+        collect(tree, from, from + count, 0, out);
+        return out;
+    }
+
+    private void collect(Node<V> node, int from, int to, int offset, List<V> out) {
+        if (node == null || from >= to) return;
+
+        int leftSize = size(node.left);
+        int index = offset + leftSize;
+        if (from < index) {
+            collect(node.left, from, to, offset, out);
+        }
+        if (index >= from && index < to) {
+            out.add(node.value);
+        }
+        if (to > index + 1) {
+            collect(node.right, from, to, index + 1, out);
+        }
+    }
+
+    // 0-based position of a node in the ordering.
+    private static <V> int indexOf(Node<V> tree, Node<V> target) {
+        int index = 0;
+        Node<V> node = tree;
+        while (node != null) {
+            int c = compare(target, node);
+            if (c == 0) {
+                return index + size(node.left);
+            }
+            if (c < 0) {
+                node = node.left;
+            } else {
+                index += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    // Higher scores first, then usernames alphabetically.
+    private static int compare(Node<?> a, Node<?> b) {
+        if (a.score != b.score) {
+            return a.score > b.score ? -1 : 1;
+        }
+        return a.name.compareTo(b.name);
+    }
+
+    // The insert, remove and merge below return new nodes for everything they
+    // change, so rotating those copies never touches the published tree.
+    private Node<V> insert(Node<V> node, Node<V> added) {
+        if (node == null) return added;
+
+        node = node.copy();
+        if (compare(added, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<V> remove(Node<V> node, Node<V> removed) {
+        if (node == null) return null;
+
+        int c = compare(removed, node);
+        if (c == 0) {
+            return merge(node.left, node.right);
+        }
+        node = node.copy();
+        if (c < 0) {
+            node.left = remove(node.left, removed);
+        } else {
+            node.right = remove(node.right, removed);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<V> merge(Node<V> left, Node<V> right) {
+        if (left == null) return right;
+        if (right == null) return left;
+
+        if (left.priority > right.priority) {
+            left = left.copy();
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right = right.copy();
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node<?> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // xorshift; the treap only needs priorities that look random.
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
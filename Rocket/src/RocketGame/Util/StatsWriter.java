@@ -0,0 +1,180 @@
+package RocketGame.Util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind persistence for the high score and finished games. Callers
+ * hand over immutable updates and return at once; a single "stats-writer"
+ * thread takes whatever has queued up since its last write and handles it
+ * as one batch: all game records in one append to the stats log, and only
+ * the newest high score, written to a temp file and renamed over
+ * highscore.txt. Nothing on the render or game thread waits on the disk,
+ * except flush() on shutdown, which a shutdown hook also runs.
+ */
+public class StatsWriter {
+    private static final String HIGH_SCORE_FILE = "highscore.txt";
+
+    private static StatsWriter instance;
+
+    // A finished game, as appended to the stats log.
+    public static final class GameRecord {
+        public final String username;
+        public final int score;
+        public final long playTimeSeconds;
+        public final boolean victory;
+        public final long timeMillis;
+
+        public GameRecord(String username, int score, long playTimeSeconds, boolean victory, long timeMillis) {
+            this.username = username;
+            this.score = score;
+            this.playTimeSeconds = playTimeSeconds;
+            this.victory = victory;
+            this.timeMillis = timeMillis;
+        }
+    }
+
+    private static final class HighScore {
+        final int score;
+
+        HighScore(int score) {
+            this.score = score;
+        }
+    }
+
+    private static final class Flush {
+        final CountDownLatch done = new CountDownLatch(1);
+    }
+
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private volatile boolean started = false;
+
+    // Last high score handed over, or -1; newer than the file while a write is pending.
+    private volatile int highScore = -1;
+
+    public static synchronized StatsWriter getInstance() {
+        if (instance == null) {
+            instance = new StatsWriter();
+        }
+        return instance;
+    }
+
+    private StatsWriter() {
+    }
+
+    private synchronized void start() {
+        if (started) return;
+        started = true;
+
+        Thread thread = new Thread(this::writeLoop, "stats-writer");
+        thread.setDaemon(true);
+        thread.start();
+
+        // Covers exits that never reach RocketGame.stop().
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(2000), "stats-flush"));
+    }
+
+    public void saveHighScore(int score) {
+        highScore = score;
+        submit(new HighScore(score));
+    }
+
+    public int getHighScore() {
+        return highScore;
+    }
+
+    public void recordGame(GameRecord record) {
+        submit(record);
+    }
+
+    private void submit(Object update) {
+        start();
+        queue.add(update);
+    }
+
+    /**
+     * Waits until everything queued before this call is on disk, or the timeout passes.
+     * Returns false on timeout.
+     */
+    public boolean flush(long timeoutMillis) {
+        if (!started) return true;
+
+        Flush flush = new Flush();
+        queue.add(flush);
+        try {
+            return flush.done.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>();
+        List<GameRecord> records = new ArrayList<>();
+
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+
+            HighScore latest = null;
+            List<Flush> flushes = new ArrayList<>();
+            for (Object update : batch) {
+                if (update instanceof GameRecord) {
+                    records.add((GameRecord) update);
+                } else if (update instanceof HighScore) {
+                    latest = (HighScore) update;
+                } else if (update instanceof Flush) {
+                    flushes.add((Flush) update);
+                }
+            }
+
+            try {
+                if (!records.isEmpty()) {
+                    UserStatsManager.appendRecords(records);
+                }
+                if (latest != null) {
+                    writeHighScore(latest.score);
+                }
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+
+            for (Flush flush : flushes) {
+                flush.done.countDown();
+            }
+            batch.clear();
+            records.clear();
+        }
+    }
+
+    private static void writeHighScore(int score) {
+        File target = new File(HIGH_SCORE_FILE);
+        File temp = new File(HIGH_SCORE_FILE + ".tmp");
+
+        try {
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), "UTF-8")) {
+                writer.write(String.valueOf(score));
+            }
+            Files.move(temp.toPath(), target.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("[ERROR] Unable to save high score: " + e.getMessage());
+        }
+    }
+}
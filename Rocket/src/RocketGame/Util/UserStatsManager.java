@@ -1,32 +1,77 @@
 package RocketGame.Util;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Player statistics, kept as in-memory aggregates. There is one instance per
+ * process, so player_stats.txt is read once, at the first getInstance().
+ * Recording a game is the only write and is synchronized; it replaces the
+ * player's PlayerStats rather than changing it, so the stats map and the
+ * leaderboard can be read from any thread without locking.
+ *
+ * A finished game is appended as one short record to player_stats.log
+ * instead of rewriting player_stats.txt; the append itself happens later, on
+ * the StatsWriter thread. A background compactor rotates the
+ * log into numbered segments, folds them into a new player_stats.txt
+ * snapshot (written to a temp file, then renamed over the old one), and
+ * deletes them. The snapshot header names the last segment it includes, so a
+ * crash part-way through never counts a game twice. Loading reads the
+ * snapshot and replays only the segments and log written after it.
+ */
 public class UserStatsManager {
 
     private static final String STATS_FILE = "player_stats.txt";
+    private static final String LOG_FILE = "player_stats.log";
+    private static final String COMPACTED_HEADER = "// Compacted log segments: ";
+    private static final int COMPACT_AFTER_RECORDS = 32;
+    private static final long COMPACT_INTERVAL_SECONDS = 300;
+
+    // Guards the log and its rotation for every manager in the process
+    private static final Object LOG_LOCK = new Object();
+    private static final AtomicInteger unrotatedRecords = new AtomicInteger();
+    private static final AtomicBoolean compactionQueued = new AtomicBoolean();
+    private static ScheduledExecutorService compactor;
+
+    private static UserStatsManager instance;
+
     private final Map<String, PlayerStats> playerStatsMap;
+    private final Leaderboard<PlayerStats> leaderboard = new Leaderboard<>();
     private SimpleDateFormat dateFormat;
     private SimpleDateFormat dateTimeFormat;
 
-    public UserStatsManager() {
-        this.playerStatsMap = new HashMap<>();
+    public static synchronized UserStatsManager getInstance() {
+        if (instance == null) {
+            instance = new UserStatsManager();
+        }
+        return instance;
+    }
+
+    private UserStatsManager() {
+        this.playerStatsMap = new ConcurrentHashMap<>();
         this.dateFormat = new SimpleDateFormat("yyyy-MM-dd");
         this.dateTimeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         loadStats();
     }
 
 public static class PlayerStats {
-        public String username;
-        public int highScore;
-        public int timesPlayed;
-        public long totalPlayTime;
-        public String lastPlayDate;
-        public int gamesWon;
-        public String lastGameTime;
-        public String lastTimePlayed;
+        public final String username;
+        public final int highScore;
+        public final int timesPlayed;
+        public final long totalPlayTime;
+        public final String lastPlayDate;
+        public final int gamesWon;
+        public final String lastGameTime;
+        public final String lastTimePlayed;
 
         public PlayerStats(String username, int highScore, int timesPlayed,
                            long totalPlayTime, String lastPlayDate, int gamesWon,
@@ -49,48 +94,70 @@ public static class PlayerStats {
         }
     }
 
-    public void updatePlayerStats(String username, int score, long playTimeSeconds, boolean isVictory) {
-        String currentDate = dateFormat.format(new Date());
-        String currentDateTime = dateTimeFormat.format(new Date());
+    public synchronized void updatePlayerStats(String username, int score, long playTimeSeconds, boolean isVictory) {
+        long now = System.currentTimeMillis();
+        PlayerStats stats = applyGame(playerStatsMap.get(username), username, score, playTimeSeconds,
+                isVictory, now, dateFormat, dateTimeFormat);
+        playerStatsMap.put(username, stats);
+        leaderboard.put(username, stats.highScore, stats);
+        StatsWriter.getInstance().recordGame(new StatsWriter.GameRecord(username, score, playTimeSeconds, isVictory, now));
+    }
 
+    // Folds one finished game into a player's aggregates, returning new stats; used for live games and log replay alike.
+    private static PlayerStats applyGame(PlayerStats stats, String username, int score,
+                                         long playTimeSeconds, boolean isVictory, long timeMillis,
+                                         SimpleDateFormat dateFormat, SimpleDateFormat dateTimeFormat) {
+        Date date = new Date(timeMillis);
+        String currentDate = dateFormat.format(date);
+        String currentDateTime = dateTimeFormat.format(date);
 
-        String lastGameTime = formatGameTime(playTimeSeconds);
 
-        if (playerStatsMap.containsKey(username)) {
-            PlayerStats stats = playerStatsMap.get(username);
-            stats.highScore = Math.max(stats.highScore, score);
-            stats.timesPlayed++;
-            stats.totalPlayTime += playTimeSeconds;
-            stats.lastPlayDate = currentDate;
-            stats.lastGameTime = lastGameTime;
-            stats.lastTimePlayed = currentDateTime;
-            if (isVictory) {
-                stats.gamesWon++;
-            }
-        } else {
+        String lastGameTime = formatGameTime(playTimeSeconds);
 
-            int gamesWon = isVictory ? 1 : 0;
-            PlayerStats newStats = new PlayerStats(username, score, 1, playTimeSeconds,
-                    currentDate, gamesWon, lastGameTime, currentDateTime);
-            playerStatsMap.put(username, newStats);
+        if (stats != null) {
+            return new PlayerStats(username, Math.max(stats.highScore, score), stats.timesPlayed + 1,
+                    stats.totalPlayTime + playTimeSeconds, currentDate,
+                    stats.gamesWon + (isVictory ? 1 : 0), lastGameTime, currentDateTime);
         }
 
-        saveStats();
+        int gamesWon = isVictory ? 1 : 0;
+        return new PlayerStats(username, score, 1, playTimeSeconds,
+                currentDate, gamesWon, lastGameTime, currentDateTime);
     }
 
     private void loadStats() {
+        int replayed;
+        synchronized (LOG_LOCK) {
+            int compacted = readSnapshot(playerStatsMap);
+            replayed = replayTail(playerStatsMap, compacted, Integer.MAX_VALUE, dateFormat, dateTimeFormat);
+        }
+        leaderboard.putAll(playerStatsMap, stats -> stats.highScore);
+        System.out.println("Loaded  " + playerStatsMap.size() + " Players");
+
+        // Whatever had to be replayed is worth folding into the snapshot now.
+        if (replayed > 0) {
+            requestCompaction();
+        }
+    }
+
+    // Reads player_stats.txt into the map. Returns the last log segment it includes, or 0.
+    private static int readSnapshot(Map<String, PlayerStats> statsMap) {
         File file = new File(STATS_FILE);
 
         if (!file.exists()) {
             System.out.println("No File creating one ....");
-            return;
+            return 0;
         }
 
+        int compacted = 0;
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line;
             boolean skipHeader = true;
 
             while ((line = reader.readLine()) != null) {
+                if (line.startsWith(COMPACTED_HEADER)) {
+                    compacted = parseIntOr(line.substring(COMPACTED_HEADER.length()).trim(), 0);
+                }
                 if (skipHeader) {
                     skipHeader = false;
                     continue;
@@ -98,8 +165,8 @@ public static class PlayerStats {
 
                 if (line.isEmpty() || line.startsWith("//")) continue;
 
-                String[] parts = line.split("\\|");
-                if (parts.length >= 8) {
+                String[] parts = splitFields(line, 8);
+                if (parts != null) {
                     try {
                         String username = parts[0];
                         int highScore = Integer.parseInt(parts[1]);
@@ -108,46 +175,269 @@ public static class PlayerStats {
                         String lastPlayDate = parts[4];
                         int gamesWon = Integer.parseInt(parts[5]);
                         String lastGameTime = parts[6];
-                        String lastTimePlayed = parts.length > 7 ? parts[7] : "Never";
+                        String lastTimePlayed = parts[7];
 
                         PlayerStats stats = new PlayerStats(username, highScore, timesPlayed,
                                 totalPlayTime, lastPlayDate, gamesWon,
                                 lastGameTime, lastTimePlayed);
-                        playerStatsMap.put(username, stats);
+                        statsMap.put(username, stats);
                     } catch (NumberFormatException e) {
                         System.err.println(" Error " + line);
                     }
                 }
             }
-            System.out.println("Loaded  " + playerStatsMap.size() + " Players");
         } catch (IOException e) {
             System.err.println("Unable to read file: " + e.getMessage());
         }
+        return compacted;
     }
 
     /**
-     * حفظ الإحصائيات إلى الملف
+     * Replays log segments numbered after {@code compacted} (up to {@code lastSegment}),
+     * then the live log when {@code lastSegment} allows it. Returns the number of records applied.
      */
-    private void saveStats() {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(STATS_FILE))) {
+    private static int replayTail(Map<String, PlayerStats> statsMap, int compacted, int lastSegment,
+                                  SimpleDateFormat dateFormat, SimpleDateFormat dateTimeFormat) {
+        int records = 0;
+        for (int segment : listSegments()) {
+            if (segment > compacted && segment <= lastSegment) {
+                records += replayLog(statsMap, segmentFile(segment), dateFormat, dateTimeFormat);
+            }
+        }
+        if (lastSegment == Integer.MAX_VALUE) {
+            records += replayLog(statsMap, new File(LOG_FILE), dateFormat, dateTimeFormat);
+        }
+        return records;
+    }
+
+    // Record layout: username|score|playTimeSeconds|victory(0/1)|timeMillis
+    private static int replayLog(Map<String, PlayerStats> statsMap, File file,
+                                 SimpleDateFormat dateFormat, SimpleDateFormat dateTimeFormat) {
+        if (!file.exists()) return 0;
+
+        String content;
+        try {
+            content = new String(Files.readAllBytes(file.toPath()), "UTF-8");
+        } catch (IOException e) {
+            System.err.println("Unable to read file: " + e.getMessage());
+            return 0;
+        }
+
+        int records = 0;
+        int start = 0;
+        int end;
+        // Only newline-terminated records count; a torn tail from a crash mid-append is ignored.
+        while ((end = content.indexOf('\n', start)) >= 0) {
+            String line = content.substring(start, end);
+            start = end + 1;
+            if (line.isEmpty()) continue;
+
+            // Numbers are read from the right, so a '|' in a username cannot shift them.
+            String[] parts = splitFields(line, 5);
+            if (parts == null) {
+                System.err.println(" Error " + line);
+                continue;
+            }
+            try {
+                int score = Integer.parseInt(parts[1]);
+                long playTime = Long.parseLong(parts[2]);
+                boolean victory = parts[3].equals("1");
+                long time = Long.parseLong(parts[4]);
+
+                statsMap.put(parts[0], applyGame(statsMap.get(parts[0]), parts[0], score, playTime, victory,
+                        time, dateFormat, dateTimeFormat));
+                records++;
+            } catch (NumberFormatException e) {
+                System.err.println(" Error " + line);
+            }
+        }
+        return records;
+    }
+
+    // Called by StatsWriter with every game finished since its last write, as one append.
+    static void appendRecords(List<StatsWriter.GameRecord> records) {
+        StringBuilder text = new StringBuilder();
+        for (StatsWriter.GameRecord record : records) {
+            text.append(record.username).append('|').append(record.score).append('|')
+                    .append(record.playTimeSeconds).append('|').append(record.victory ? 1 : 0).append('|')
+                    .append(record.timeMillis).append('\n');
+        }
+
+        synchronized (LOG_LOCK) {
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(LOG_FILE, true), "UTF-8")) {
+                writer.write(text.toString());
+            } catch (IOException e) {
+                System.err.println("[ERROR] Unable to append game record: " + e.getMessage());
+                return;
+            }
+        }
+
+        if (unrotatedRecords.addAndGet(records.size()) >= COMPACT_AFTER_RECORDS) {
+            requestCompaction();
+        }
+    }
+
+    private static synchronized void startCompactor() {
+        if (compactor != null) return;
+
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(() -> {
+            if (unrotatedRecords.get() > 0 || !listSegments().isEmpty()) {
+                compact();
+            }
+        }, COMPACT_INTERVAL_SECONDS, COMPACT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static void requestCompaction() {
+        startCompactor();
+        if (compactionQueued.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                compactionQueued.set(false);
+                compact();
+            });
+        }
+    }
+
+    // Runs on the compactor thread only.
+    private static void compact() {
+        try {
+            int lastSegment;
+            synchronized (LOG_LOCK) {
+                lastSegment = rotateLog();
+            }
+
+            // Rebuilt from disk rather than from the live map, which may hold games not yet appended.
+            Map<String, PlayerStats> stats = new HashMap<>();
+            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+            SimpleDateFormat dateTimeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            int compacted = readSnapshot(stats);
+            if (lastSegment <= compacted) return;
+
+            replayTail(stats, compacted, lastSegment, dateFormat, dateTimeFormat);
+
+            // Loaders hold the lock too, so none sees the new snapshot with the old segments missing.
+            synchronized (LOG_LOCK) {
+                writeSnapshot(stats, lastSegment);
+                for (int segment : listSegments()) {
+                    if (segment <= lastSegment) {
+                        Files.deleteIfExists(segmentFile(segment).toPath());
+                    }
+                }
+            }
+            System.out.println("[STATS] Compacted log into snapshot of " + stats.size() + " players");
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[ERROR] Stats compaction failed: " + e.getMessage());
+        }
+    }
+
+    // Renames the live log to the next segment number. Returns the highest segment now on disk.
+    private static int rotateLog() {
+        List<Integer> segments = listSegments();
+        int last = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+        last = Math.max(last, readCompactedSegment());
+
+        File log = new File(LOG_FILE);
+        if (log.length() > 0) {
+            last++;
+            if (!log.renameTo(segmentFile(last))) {
+                System.err.println("[ERROR] Unable to rotate " + LOG_FILE);
+                last--;
+            }
+            unrotatedRecords.set(0);
+        }
+        return last;
+    }
+
+    private static int readCompactedSegment() {
+        try (BufferedReader reader = new BufferedReader(new FileReader(STATS_FILE))) {
+            String line;
+            while ((line = reader.readLine()) != null && line.startsWith("//")) {
+                if (line.startsWith(COMPACTED_HEADER)) {
+                    return parseIntOr(line.substring(COMPACTED_HEADER.length()).trim(), 0);
+                }
+            }
+        } catch (IOException e) {
+            // No snapshot yet
+        }
+        return 0;
+    }
+
+    private static void writeSnapshot(Map<String, PlayerStats> stats, int compactedSegment) throws IOException {
+        File target = new File(STATS_FILE);
+        File temp = new File(STATS_FILE + ".tmp");
+
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(temp)))) {
             writer.println("// Rocket Game - Player Statistics");
             writer.println("// Format: Username | HighScore | TimesPlayed | TotalPlayTime(s) | LastPlayDate | GamesWon | LastGameTime(MM:SS) | LastTimePlayed(YYYY-MM-DD HH:mm:ss)");
+            writer.println(COMPACTED_HEADER + compactedSegment);
             writer.println("// Auto-generated file\n");
 
-            for (PlayerStats stats : playerStatsMap.values()) {
-                writer.println(stats.toString());
+            for (PlayerStats playerStats : stats.values()) {
+                writer.println(playerStats.toString());
             }
+            if (writer.checkError()) {
+                throw new IOException("Unable to write " + temp);
+            }
+        }
+        Files.move(temp.toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
 
-            System.out.println("[STATS] تم حفظ بيانات " + playerStatsMap.size() + " لاعب بنجاح");
-        } catch (IOException e) {
-            System.err.println("[ERROR] خطأ في حفظ الإحصائيات: " + e.getMessage());
+    private static File segmentFile(int segment) {
+        return new File(LOG_FILE + "." + segment);
+    }
+
+    // Segment numbers found next to the log, in ascending order.
+    private static List<Integer> listSegments() {
+        List<Integer> segments = new ArrayList<>();
+        File dir = new File(LOG_FILE).getAbsoluteFile().getParentFile();
+        String[] names = dir == null ? null : dir.list();
+        if (names == null) return segments;
+
+        String prefix = LOG_FILE + ".";
+        for (String name : names) {
+            if (name.startsWith(prefix)) {
+                int segment = parseIntOr(name.substring(prefix.length()), -1);
+                if (segment > 0) {
+                    segments.add(segment);
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    // Splits on '|' into exactly {@code count} fields, counting from the right so the
+    // username (the first field) may itself contain '|'. Returns null if there are too few.
+    private static String[] splitFields(String line, int count) {
+        String[] parts = new String[count];
+        int end = line.length();
+        for (int i = count - 1; i > 0; i--) {
+            int start = line.lastIndexOf('|', end - 1);
+            if (start < 0) return null;
+            parts[i] = line.substring(start + 1, end);
+            end = start;
+        }
+        parts[0] = line.substring(0, end);
+        return parts;
+    }
+
+    private static int parseIntOr(String text, int fallback) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return fallback;
         }
     }
 
     /**
      * ✅ تنسيق وقت اللعبة (دقائق:ثواني)
      */
-    private String formatGameTime(long seconds) {
+    private static String formatGameTime(long seconds) {
         long minutes = seconds / 60;
         long remainingSeconds = seconds % 60;
         return String.format("%d:%02d", minutes, remainingSeconds);
@@ -205,8 +495,7 @@ public static class PlayerStats {
         }
 
         // ترتيب اللاعبين حسب الدرجة الأعلى
-        List<PlayerStats> sortedStats = new ArrayList<>(playerStatsMap.values());
-        sortedStats.sort((a, b) -> Integer.compare(b.highScore, a.highScore));
+        List<PlayerStats> sortedStats = leaderboard.topK(leaderboard.size());
 
         System.out.println("\n========== LEADERBOARD ==========");
         System.out.printf("%-5s %-15s %-10s %-8s %-12s %-6s %-10s %-19s%n",
@@ -265,6 +554,27 @@ public static class PlayerStats {
         return new HashMap<>(playerStatsMap);
     }
 
+    /**
+     * Rank a score would have: 1 + the number of players with a higher best score.
+     */
+    public int rankOf(int score) {
+        return leaderboard.rankOf(score);
+    }
+
+    /**
+     * The best {@code k} players, highest score first.
+     */
+    public List<PlayerStats> topK(int k) {
+        return leaderboard.topK(k);
+    }
+
+    /**
+     * The player with up to {@code radius} neighbours on either side of the ranking.
+     */
+    public List<PlayerStats> getPlayersAround(String username, int radius) {
+        return leaderboard.around(username, radius);
+    }
+
     /**
      * عدد اللاعبين الكلي
      */